@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks.
+ * <p>
+ * It accepts the regular command line options of JMH and always adds the GC profiler in order to report the allocation
+ * rate along with the throughput.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args
+     *            The JMH command line options
+     * @throws CommandLineOptionException
+     *             If the command line options are invalid
+     * @throws RunnerException
+     *             If the benchmarks cannot be run
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        Options options = new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class).build();
+        new Runner(options).run();
+    }
+}
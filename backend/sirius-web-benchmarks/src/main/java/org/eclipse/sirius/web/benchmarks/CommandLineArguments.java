@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The arguments of the command line tools, given as <code>--name=value</code> options followed by positional
+ * arguments.
+ *
+ * @author sbegaudeau
+ */
+public class CommandLineArguments {
+
+    private static final String OPTION_PREFIX = "--"; //$NON-NLS-1$
+
+    private static final String OPTION_SEPARATOR = "="; //$NON-NLS-1$
+
+    private final Map<String, String> options = new HashMap<>();
+
+    private final List<String> positionalArguments = new ArrayList<>();
+
+    public CommandLineArguments(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith(OPTION_PREFIX)) {
+                int separatorIndex = arg.indexOf(OPTION_SEPARATOR);
+                if (separatorIndex > 0) {
+                    this.options.put(arg.substring(OPTION_PREFIX.length(), separatorIndex), arg.substring(separatorIndex + 1));
+                } else {
+                    this.options.put(arg.substring(OPTION_PREFIX.length()), Boolean.TRUE.toString());
+                }
+            } else {
+                this.positionalArguments.add(arg);
+            }
+        }
+    }
+
+    public Optional<String> getOption(String name) {
+        return Optional.ofNullable(this.options.get(name));
+    }
+
+    public String getOption(String name, String defaultValue) {
+        return this.options.getOrDefault(name, defaultValue);
+    }
+
+    public int getIntOption(String name, int defaultValue) {
+        return this.getOption(name).map(Integer::parseInt).orElse(defaultValue);
+    }
+
+    public long getLongOption(String name, long defaultValue) {
+        return this.getOption(name).map(Long::parseLong).orElse(defaultValue);
+    }
+
+    public boolean getBooleanOption(String name) {
+        return this.getOption(name).map(Boolean::parseBoolean).orElse(Boolean.FALSE);
+    }
+
+    public List<String> getPositionalArguments() {
+        return this.positionalArguments;
+    }
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import fr.obeo.dsl.designer.sample.flow.FlowPackage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+import org.eclipse.sirius.emfjson.resource.JsonResource;
+import org.eclipse.sirius.web.emf.services.SiriusWebJSONResourceFactoryImpl;
+import org.eclipse.sirius.web.emf.utils.EMFResourceUtils;
+import org.eclipse.sirius.web.resources.DocumentCodec;
+import org.eclipse.sirius.web.resources.DocumentFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the speed of the formats of the content of the documents, loaded in the {@link JsonResource} used by
+ * the production documents whatever their format.
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class DocumentFormatBenchmark {
+
+    @Param({ "robot.flow", "Big_Guy.flow" })
+    public String modelPath;
+
+    @Param({ "JSON", "BINARY", "COMPRESSED_BINARY" })
+    public DocumentFormat format;
+
+    private final DocumentCodec documentCodec = new DocumentCodec();
+
+    private JsonResource resource;
+
+    private byte[] content;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        EPackage.Registry.INSTANCE.put(FlowPackage.eINSTANCE.getNsURI(), FlowPackage.eINSTANCE);
+
+        URI uri = URI.createURI(this.modelPath);
+        Resource xmiResource = new XMIResourceImpl(uri);
+        try (InputStream inputStream = DocumentFormatBenchmark.class.getClassLoader().getResourceAsStream(this.modelPath)) {
+            if (inputStream == null) {
+                throw new IOException("Missing model " + this.modelPath); //$NON-NLS-1$
+            }
+            xmiResource.load(inputStream, new EMFResourceUtils().getFastXMILoadOptions(new XMLParserPoolImpl()));
+        }
+
+        this.resource = new SiriusWebJSONResourceFactoryImpl().createResource(uri);
+        this.resource.getContents().addAll(xmiResource.getContents());
+        this.content = this.documentCodec.encode(this.resource, this.format);
+    }
+
+    @Benchmark
+    public byte[] save() throws IOException {
+        return this.documentCodec.encode(this.resource, this.format);
+    }
+
+    @Benchmark
+    public Resource load() throws IOException {
+        Resource targetResource = new SiriusWebJSONResourceFactoryImpl().createResource(URI.createURI(this.modelPath));
+        this.documentCodec.decode(this.content, targetResource);
+        return targetResource;
+    }
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import fr.obeo.dsl.designer.sample.flow.FlowPackage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.XMLParserPool;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+import org.eclipse.sirius.emfjson.resource.JsonResource;
+import org.eclipse.sirius.web.emf.services.SiriusWebJSONResourceFactoryImpl;
+import org.eclipse.sirius.web.emf.utils.EMFResourceUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the conversion of the XMI models of the stereotypes to JSON, as performed by the sample application
+ * when a project is created.
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class EMFResourceSerializationBenchmark {
+
+    private static final XMLParserPool PARSER_POOL = new XMLParserPoolImpl();
+
+    @Param({ "robot.flow", "Big_Guy.flow" })
+    public String modelPath;
+
+    private byte[] xmiContent;
+
+    private JsonResource jsonResource;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        EPackage.Registry.INSTANCE.put(FlowPackage.eINSTANCE.getNsURI(), FlowPackage.eINSTANCE);
+
+        try (InputStream inputStream = EMFResourceSerializationBenchmark.class.getClassLoader().getResourceAsStream(this.modelPath)) {
+            if (inputStream == null) {
+                throw new IOException("Missing model " + this.modelPath); //$NON-NLS-1$
+            }
+            this.xmiContent = inputStream.readAllBytes();
+        }
+
+        URI uri = URI.createURI(this.modelPath);
+        this.jsonResource = new SiriusWebJSONResourceFactoryImpl().createResource(uri);
+        this.jsonResource.getContents().addAll(this.loadFromXMI(uri).getContents());
+    }
+
+    @Benchmark
+    public Resource loadXMI() throws IOException {
+        return this.loadFromXMI(URI.createURI(this.modelPath));
+    }
+
+    @Benchmark
+    public byte[] saveJSON() throws IOException {
+        return this.saveAsJSON(this.jsonResource);
+    }
+
+    @Benchmark
+    public byte[] convertXMIToJSON() throws IOException {
+        URI uri = URI.createURI(this.modelPath);
+        Resource inputResource = this.loadFromXMI(uri);
+
+        JsonResource outputResource = new SiriusWebJSONResourceFactoryImpl().createResource(uri);
+        outputResource.getContents().addAll(inputResource.getContents());
+        return this.saveAsJSON(outputResource);
+    }
+
+    private Resource loadFromXMI(URI uri) throws IOException {
+        Resource inputResource = new XMIResourceImpl(uri);
+        Map<String, Object> xmiLoadOptions = new EMFResourceUtils().getFastXMILoadOptions(PARSER_POOL);
+        inputResource.load(new ByteArrayInputStream(this.xmiContent), xmiLoadOptions);
+        return inputResource;
+    }
+
+    private byte[] saveAsJSON(JsonResource outputResource) throws IOException {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            Map<String, Object> jsonSaveOptions = new EMFResourceUtils().getFastJSONSaveOptions();
+            jsonSaveOptions.put(JsonResource.OPTION_ENCODING, JsonResource.ENCODING_UTF_8);
+            jsonSaveOptions.put(JsonResource.OPTION_SCHEMA_LOCATION, Boolean.TRUE);
+            outputResource.save(outputStream, jsonSaveOptions);
+            return outputStream.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import fr.obeo.dsl.designer.sample.flow.FlowPackage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.sirius.emfjson.resource.JsonResource;
+import org.eclipse.sirius.web.emf.services.SiriusWebJSONResourceFactoryImpl;
+import org.eclipse.sirius.web.emf.utils.EMFResourceUtils;
+
+/**
+ * Generates Flow models of a configurable size with the same shape as the Big Guy model.
+ * <p>
+ * The system contains composite processors, each of them containing processors, data sources with data flows towards
+ * the processors, fans, a power input and power outputs linked to the power input of the previous composite processor.
+ * The model can be written as XMI, to be used as a stereotype or uploaded, or as JSON, the format of the documents.
+ * </p>
+ * <p>
+ * Usage: <code>FlowModelGenerator [--composites=1000] [--processors=5] [--sources=3] [--flows=2] [--fans=2]
+ * [--power-outputs=1] [--seed=0] [--format=xmi|json] output.flow</code>
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class FlowModelGenerator {
+
+    private static final String JSON_FORMAT = "json"; //$NON-NLS-1$
+
+    private final int compositeProcessorCount;
+
+    private final int processorCount;
+
+    private final int dataSourceCount;
+
+    private final int dataFlowCount;
+
+    private final int fanCount;
+
+    private final int powerOutputCount;
+
+    private final Random random;
+
+    private int elementCount;
+
+    public FlowModelGenerator(int compositeProcessorCount, int processorCount, int dataSourceCount, int dataFlowCount, int fanCount, int powerOutputCount, long seed) {
+        this.compositeProcessorCount = compositeProcessorCount;
+        this.processorCount = processorCount;
+        this.dataSourceCount = dataSourceCount;
+        this.dataFlowCount = dataFlowCount;
+        this.fanCount = fanCount;
+        this.powerOutputCount = powerOutputCount;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates a new model.
+     *
+     * @return The root of the model
+     */
+    public EObject generate() {
+        this.elementCount = 0;
+
+        EObject system = this.create("System"); //$NON-NLS-1$
+        this.set(system, "name", "Generated_System"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        EObject previousPowerInput = null;
+        for (int i = 0; i < this.compositeProcessorCount; i++) {
+            EObject compositeProcessor = this.createElement(system, "CompositeProcessor", "Composite_" + i); //$NON-NLS-1$ //$NON-NLS-2$
+            this.set(compositeProcessor, "consumption", this.random.nextInt(500)); //$NON-NLS-1$
+
+            List<EObject> processors = new ArrayList<>();
+            for (int j = 0; j < this.processorCount; j++) {
+                EObject processor = this.createElement(compositeProcessor, "Processor", "Processor_" + i + "_" + j); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                this.set(processor, "capacity", 1 + this.random.nextInt(20)); //$NON-NLS-1$
+                this.set(processor, "consumption", this.random.nextInt(200)); //$NON-NLS-1$
+                if (!processors.isEmpty()) {
+                    this.createDataFlow(processors.get(processors.size() - 1), processor);
+                }
+                processors.add(processor);
+            }
+
+            for (int j = 0; j < this.dataSourceCount; j++) {
+                EObject dataSource = this.createElement(compositeProcessor, "DataSource", "Source_" + i + "_" + j); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                this.set(dataSource, "volume", 1 + this.random.nextInt(10)); //$NON-NLS-1$
+                for (int k = 0; k < this.dataFlowCount && !processors.isEmpty(); k++) {
+                    this.createDataFlow(dataSource, processors.get(this.random.nextInt(processors.size())));
+                }
+            }
+
+            for (int j = 0; j < this.fanCount; j++) {
+                EObject fan = this.createElement(compositeProcessor, "Fan", null); //$NON-NLS-1$
+                this.set(fan, "speed", this.random.nextInt(50)); //$NON-NLS-1$
+            }
+
+            EObject powerInput = this.createChild(compositeProcessor, "powerInputs"); //$NON-NLS-1$
+            for (int j = 0; j < this.powerOutputCount; j++) {
+                EObject powerOutput = this.createChild(compositeProcessor, "powerOutputs"); //$NON-NLS-1$
+                this.set(powerOutput, "power", this.random.nextInt(100)); //$NON-NLS-1$
+                EObject link = this.createChild(powerOutput, "links"); //$NON-NLS-1$
+                this.set(link, "target", previousPowerInput != null ? previousPowerInput : powerInput); //$NON-NLS-1$
+            }
+            previousPowerInput = powerInput;
+        }
+        return system;
+    }
+
+    public int getElementCount() {
+        return this.elementCount;
+    }
+
+    private EObject createElement(EObject container, String eClassName, String name) {
+        EObject element = this.create(eClassName);
+        this.add(container, "elements", element); //$NON-NLS-1$
+        if (name != null) {
+            this.set(element, "name", name); //$NON-NLS-1$
+        }
+        return element;
+    }
+
+    private void createDataFlow(EObject source, EObject target) {
+        EObject dataFlow = this.createChild(source, "outgoingFlows"); //$NON-NLS-1$
+        this.set(dataFlow, "target", target); //$NON-NLS-1$
+        this.set(dataFlow, "capacity", 1 + this.random.nextInt(10)); //$NON-NLS-1$
+        this.set(dataFlow, "load", this.random.nextInt(10)); //$NON-NLS-1$
+    }
+
+    private EObject create(String eClassName) {
+        EClass eClass = (EClass) FlowPackage.eINSTANCE.getEClassifier(eClassName);
+        this.elementCount++;
+        return EcoreUtil.create(eClass);
+    }
+
+    private EObject createChild(EObject container, String featureName) {
+        EReference eReference = (EReference) container.eClass().getEStructuralFeature(featureName);
+        EObject child = EcoreUtil.create(eReference.getEReferenceType());
+        this.elementCount++;
+        this.add(container, featureName, child);
+        return child;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void add(EObject container, String featureName, EObject child) {
+        EStructuralFeature feature = container.eClass().getEStructuralFeature(featureName);
+        ((List<EObject>) container.eGet(feature)).add(child);
+    }
+
+    /**
+     * Sets the value of the given feature if it exists, the value of the attributes is converted to their actual data
+     * type.
+     */
+    private void set(EObject eObject, String featureName, Object value) {
+        EStructuralFeature feature = eObject.eClass().getEStructuralFeature(featureName);
+        if (feature instanceof EAttribute) {
+            EAttribute eAttribute = (EAttribute) feature;
+            eObject.eSet(eAttribute, EcoreUtil.createFromString(eAttribute.getEAttributeType(), String.valueOf(value)));
+        } else if (feature != null) {
+            eObject.eSet(feature, value);
+        }
+    }
+
+    /**
+     * Generates a model and writes it in the given file.
+     *
+     * @param args
+     *            The arguments of the generator
+     * @throws IOException
+     *             If the model cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        CommandLineArguments arguments = new CommandLineArguments(args);
+        if (arguments.getPositionalArguments().isEmpty()) {
+            throw new IllegalArgumentException("Missing output file"); //$NON-NLS-1$
+        }
+        Path outputPath = Path.of(arguments.getPositionalArguments().get(0));
+
+        // @formatter:off
+        FlowModelGenerator generator = new FlowModelGenerator(
+                arguments.getIntOption("composites", 1000), //$NON-NLS-1$
+                arguments.getIntOption("processors", 5), //$NON-NLS-1$
+                arguments.getIntOption("sources", 3), //$NON-NLS-1$
+                arguments.getIntOption("flows", 2), //$NON-NLS-1$
+                arguments.getIntOption("fans", 2), //$NON-NLS-1$
+                arguments.getIntOption("power-outputs", 1), //$NON-NLS-1$
+                arguments.getLongOption("seed", 0)); //$NON-NLS-1$
+        // @formatter:on
+        EObject system = generator.generate();
+
+        URI uri = URI.createFileURI(outputPath.toAbsolutePath().toString());
+        Resource resource;
+        Map<String, Object> saveOptions;
+        if (JSON_FORMAT.equals(arguments.getOption("format", "xmi"))) { //$NON-NLS-1$ //$NON-NLS-2$
+            resource = new SiriusWebJSONResourceFactoryImpl().createResource(uri);
+            saveOptions = new EMFResourceUtils().getFastJSONSaveOptions();
+            saveOptions.put(JsonResource.OPTION_ENCODING, JsonResource.ENCODING_UTF_8);
+            saveOptions.put(JsonResource.OPTION_SCHEMA_LOCATION, Boolean.TRUE);
+        } else {
+            resource = new XMIResourceImpl(uri);
+            saveOptions = new HashMap<>();
+            saveOptions.put(XMLResource.OPTION_ENCODING, "UTF-8"); //$NON-NLS-1$
+        }
+        resource.getContents().add(system);
+
+        try (OutputStream outputStream = Files.newOutputStream(outputPath)) {
+            resource.save(outputStream, saveOptions);
+        }
+        System.out.println(generator.getElementCount() + " elements written in " + outputPath); //$NON-NLS-1$
+    }
+}
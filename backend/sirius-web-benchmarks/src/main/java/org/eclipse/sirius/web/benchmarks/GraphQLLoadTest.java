@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives a running Sirius Web server with concurrent users sending GraphQL queries and mutations, then reports the
+ * latency of each operation.
+ * <p>
+ * Each user opens the given project again and again, using the same queries as the frontend. Mutations creating new
+ * projects can be added with <code>--mutations</code> and any other operation can be added with
+ * <code>--operation=file.graphql</code>, it will receive the variables <code>projectId</code>,
+ * <code>representationId</code> and <code>includeRepresentation</code>.
+ * </p>
+ * <p>
+ * Usage: <code>GraphQLLoadTest [--url=http://localhost:8080] [--users=10] [--duration=60] [--project=id]
+ * [--representation=id] [--mutations] [--operation=file.graphql]</code>
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class GraphQLLoadTest {
+
+    private static final String GET_PROJECTS_QUERY = "query getProjects { viewer { projects { id name } } }"; //$NON-NLS-1$
+
+    // @formatter:off
+    private static final String GET_PROJECT_QUERY = "query getRepresentation($projectId: ID!, $representationId: ID!, $includeRepresentation: Boolean!) { " //$NON-NLS-1$
+            + "viewer { project(projectId: $projectId) { id name currentEditingContext { id } " //$NON-NLS-1$
+            + "representation(representationId: $representationId) @include(if: $includeRepresentation) { __typename id label } } } }"; //$NON-NLS-1$
+
+    private static final String CREATE_PROJECT_MUTATION = "mutation createProject($input: CreateProjectInput!) { createProject(input: $input) { " //$NON-NLS-1$
+            + "__typename ... on CreateProjectSuccessPayload { project { id } } ... on ErrorPayload { message } } }"; //$NON-NLS-1$
+    // @formatter:on
+
+    private static final String GRAPHQL_PATH = "/api/graphql"; //$NON-NLS-1$
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private final URI graphQLURI;
+
+    private final Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+
+    private final AtomicLong errorCount = new AtomicLong();
+
+    public GraphQLLoadTest(String baseURL) {
+        this.graphQLURI = URI.create(baseURL + GRAPHQL_PATH);
+    }
+
+    /**
+     * Executes the given operation and records its latency.
+     *
+     * @param operationName
+     *            The name of the operation used in the report
+     * @param query
+     *            The GraphQL document
+     * @param variables
+     *            The variables of the operation as a JSON object
+     */
+    public void execute(String operationName, String query, String variables) {
+        String body = "{\"query\":" + this.toJSONString(query) + ",\"variables\":" + variables + "}"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        // @formatter:off
+        HttpRequest request = HttpRequest.newBuilder(this.graphQLURI)
+                .header("Content-Type", "application/json") //$NON-NLS-1$ //$NON-NLS-2$
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        // @formatter:on
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = this.httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200 || response.body().contains("\"errors\"")) { //$NON-NLS-1$
+                this.errorCount.incrementAndGet();
+            }
+        } catch (IOException exception) {
+            this.errorCount.incrementAndGet();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        long latency = System.nanoTime() - start;
+        this.latencies.computeIfAbsent(operationName, name -> Collections.synchronizedList(new ArrayList<>())).add(latency);
+    }
+
+    private String toJSONString(String value) {
+        StringBuilder builder = new StringBuilder("\""); //$NON-NLS-1$
+        for (char character : value.toCharArray()) {
+            switch (character) {
+            case '"':
+                builder.append("\\\""); //$NON-NLS-1$
+                break;
+            case '\\':
+                builder.append("\\\\"); //$NON-NLS-1$
+                break;
+            case '\n':
+                builder.append("\\n"); //$NON-NLS-1$
+                break;
+            case '\r':
+                builder.append("\\r"); //$NON-NLS-1$
+                break;
+            case '\t':
+                builder.append("\\t"); //$NON-NLS-1$
+                break;
+            default:
+                builder.append(character);
+                break;
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    /**
+     * Prints the throughput and the latency percentiles of each operation.
+     *
+     * @param duration
+     *            The duration of the test
+     */
+    public void report(Duration duration) {
+        System.out.println(String.format("%-24s %10s %10s %10s %10s %10s %10s", "operation", "count", "ops/s", "p50 (ms)", "p95 (ms)", "p99 (ms)", "max (ms)")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+        new TreeMap<>(this.latencies).forEach((operationName, operationLatencies) -> {
+            List<Long> sortedLatencies;
+            synchronized (operationLatencies) {
+                sortedLatencies = new ArrayList<>(operationLatencies);
+            }
+            Collections.sort(sortedLatencies);
+            int count = sortedLatencies.size();
+            double throughput = count / (double) duration.toSeconds();
+            System.out.println(String.format("%-24s %10d %10.1f %10.1f %10.1f %10.1f %10.1f", operationName, count, throughput, this.percentile(sortedLatencies, 0.5), //$NON-NLS-1$
+                    this.percentile(sortedLatencies, 0.95), this.percentile(sortedLatencies, 0.99), this.percentile(sortedLatencies, 1.0)));
+        });
+        System.out.println("errors: " + this.errorCount.get()); //$NON-NLS-1$
+    }
+
+    private double percentile(List<Long> sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.size()) - 1;
+        return sortedLatencies.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args
+     *            The arguments of the load test
+     * @throws IOException
+     *             If an additional operation cannot be read
+     * @throws InterruptedException
+     *             If the test is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        CommandLineArguments arguments = new CommandLineArguments(args);
+        GraphQLLoadTest loadTest = new GraphQLLoadTest(arguments.getOption("url", "http://localhost:8080")); //$NON-NLS-1$ //$NON-NLS-2$
+        int userCount = arguments.getIntOption("users", 10); //$NON-NLS-1$
+        Duration duration = Duration.ofSeconds(arguments.getLongOption("duration", 60)); //$NON-NLS-1$
+        Optional<String> projectId = arguments.getOption("project"); //$NON-NLS-1$
+        Optional<String> representationId = arguments.getOption("representation"); //$NON-NLS-1$
+        boolean withMutations = arguments.getBooleanOption("mutations"); //$NON-NLS-1$
+
+        Optional<String> additionalOperation = Optional.empty();
+        Optional<String> additionalOperationPath = arguments.getOption("operation"); //$NON-NLS-1$
+        if (additionalOperationPath.isPresent()) {
+            additionalOperation = Optional.of(Files.readString(Path.of(additionalOperationPath.get())));
+        }
+        Optional<String> operation = additionalOperation;
+
+        String projectVariables = projectId.map(id -> "{\"projectId\":\"" + id + "\",\"representationId\":\"" + representationId.orElse("") + "\",\"includeRepresentation\":" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+                + representationId.isPresent() + "}").orElse("{}"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executorService = Executors.newFixedThreadPool(userCount);
+        for (int i = 0; i < userCount; i++) {
+            executorService.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    loadTest.execute("getProjects", GET_PROJECTS_QUERY, "{}"); //$NON-NLS-1$ //$NON-NLS-2$
+                    if (projectId.isPresent()) {
+                        loadTest.execute("getRepresentation", GET_PROJECT_QUERY, projectVariables); //$NON-NLS-1$
+                    }
+                    if (withMutations) {
+                        String createProjectVariables = "{\"input\":{\"id\":\"" + UUID.randomUUID() + "\",\"name\":\"LoadTest\",\"visibility\":\"PUBLIC\"}}"; //$NON-NLS-1$ //$NON-NLS-2$
+                        loadTest.execute("createProject", CREATE_PROJECT_MUTATION, createProjectVariables); //$NON-NLS-1$
+                    }
+                    operation.ifPresent(query -> loadTest.execute("operation", query, projectVariables)); //$NON-NLS-1$
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+
+        loadTest.report(duration);
+    }
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import fr.obeo.dsl.designer.sample.flow.FlowPackage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+import org.eclipse.sirius.emfjson.resource.JsonResource;
+import org.eclipse.sirius.web.emf.services.SiriusWebJSONResourceFactoryImpl;
+import org.eclipse.sirius.web.emf.utils.EMFResourceUtils;
+import org.eclipse.sirius.web.resources.DocumentCodec;
+import org.eclipse.sirius.web.resources.DocumentFormat;
+import org.eclipse.sirius.web.resources.ResourceChangeTracker;
+import org.eclipse.sirius.web.resources.ResourceDeltaReplayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Benchmarks of the persistence of a single edit, by saving the whole document as today or by writing only the delta
+ * of the changes with a {@link ResourceChangeTracker}.
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class IncrementalPersistenceBenchmark {
+
+    @Param({ "robot.flow", "Big_Guy.flow" })
+    public String modelPath;
+
+    private final DocumentCodec documentCodec = new DocumentCodec();
+
+    private JsonResource resource;
+
+    private ResourceChangeTracker changeTracker;
+
+    private List<EObject> namedElements;
+
+    private int editCount;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkParams benchmarkParams) throws IOException {
+        EPackage.Registry.INSTANCE.put(FlowPackage.eINSTANCE.getNsURI(), FlowPackage.eINSTANCE);
+
+        URI uri = URI.createURI(this.modelPath);
+        Resource xmiResource = new XMIResourceImpl(uri);
+        try (InputStream inputStream = IncrementalPersistenceBenchmark.class.getClassLoader().getResourceAsStream(this.modelPath)) {
+            if (inputStream == null) {
+                throw new IOException("Missing model " + this.modelPath); //$NON-NLS-1$
+            }
+            xmiResource.load(inputStream, new EMFResourceUtils().getFastXMILoadOptions(new XMLParserPoolImpl()));
+        }
+
+        this.resource = new SiriusWebJSONResourceFactoryImpl().createResource(uri);
+        this.resource.getContents().addAll(xmiResource.getContents());
+        // The whole document is saved without tracking the changes, like today
+        if (benchmarkParams.getBenchmark().endsWith(".saveDelta")) { //$NON-NLS-1$
+            this.changeTracker = new ResourceChangeTracker(this.resource);
+        }
+
+        this.namedElements = new ArrayList<>();
+        this.resource.getAllContents().forEachRemaining(eObject -> {
+            if (FlowPackage.eINSTANCE.getNamed().isInstance(eObject)) {
+                this.namedElements.add(eObject);
+            }
+        });
+    }
+
+    /**
+     * Renames one element, as a user would do.
+     */
+    private void edit() {
+        EAttribute nameAttribute = FlowPackage.eINSTANCE.getNamed_Name();
+        EObject eObject = this.namedElements.get(this.editCount % this.namedElements.size());
+        eObject.eSet(nameAttribute, "element_" + this.editCount); //$NON-NLS-1$
+        this.editCount++;
+    }
+
+    @Benchmark
+    public byte[] saveDocument() throws IOException {
+        this.edit();
+        return this.documentCodec.encode(this.resource, DocumentFormat.JSON);
+    }
+
+    @Benchmark
+    public byte[] saveDelta() throws IOException {
+        this.edit();
+        return this.changeTracker.consumeDelta();
+    }
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import fr.obeo.dsl.designer.sample.flow.FlowPackage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.sirius.web.resources.LabelIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the search of elements by label, with a {@link LabelIndex} or with a traversal of the model, on models
+ * created by the {@link FlowModelGenerator}.
+ *
+ * @author sbegaudeau
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class LabelSearchBenchmark {
+
+    private static final int LIMIT = 20;
+
+    @Param({ "1000", "5000" })
+    public int compositeProcessorCount;
+
+    private Resource resource;
+
+    private LabelIndex labelIndex;
+
+    private String prefix;
+
+    private EObject renamedElement;
+
+    private int renameCount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FlowModelGenerator generator = new FlowModelGenerator(this.compositeProcessorCount, 5, 3, 2, 2, 1, 0);
+        this.resource = new XMIResourceImpl(URI.createURI("generated.flow")); //$NON-NLS-1$
+        this.resource.getContents().add(generator.generate());
+
+        this.labelIndex = new LabelIndex(this::getLabelAttribute);
+        this.resource.eAdapters().add(this.labelIndex);
+
+        // The last elements created are the worst case of the traversal
+        this.prefix = "source_" + (this.compositeProcessorCount - 1); //$NON-NLS-1$
+        this.renamedElement = this.labelIndex.search("processor_0_0", 1).get(0); //$NON-NLS-1$
+    }
+
+    /**
+     * Returns the label attribute of the given element, as the label feature switch of the sample application.
+     */
+    private EAttribute getLabelAttribute(EObject eObject) {
+        FlowPackage flowPackage = FlowPackage.eINSTANCE;
+        EAttribute labelAttribute = null;
+        if (flowPackage.getNamed().isInstance(eObject)) {
+            labelAttribute = flowPackage.getNamed_Name();
+        } else if (flowPackage.getFan().isInstance(eObject)) {
+            labelAttribute = flowPackage.getFlowElement_Status();
+        } else if (flowPackage.getDataFlow().isInstance(eObject)) {
+            labelAttribute = flowPackage.getFlowElement_Usage();
+        } else if (flowPackage.getPowerOutput().isInstance(eObject)) {
+            labelAttribute = flowPackage.getPowerOutput_Power();
+        }
+        return labelAttribute;
+    }
+
+    @Benchmark
+    public List<EObject> searchWithIndex() {
+        return this.labelIndex.search(this.prefix, LIMIT);
+    }
+
+    /**
+     * Searches the elements with the same semantics as the index, the whole label or one of its words starting with
+     * the prefix.
+     */
+    @Benchmark
+    public List<EObject> searchWithTraversal() {
+        String lowerCasePrefix = this.prefix.toLowerCase(Locale.ENGLISH);
+        List<EObject> results = new ArrayList<>();
+        TreeIterator<EObject> iterator = this.resource.getAllContents();
+        while (iterator.hasNext() && results.size() < LIMIT) {
+            EObject eObject = iterator.next();
+            EAttribute labelAttribute = this.getLabelAttribute(eObject);
+            if (labelAttribute != null && eObject.eIsSet(labelAttribute)) {
+                String label = EcoreUtil.convertToString(labelAttribute.getEAttributeType(), eObject.eGet(labelAttribute));
+                if (label != null && LabelIndex.getWords(label).stream().anyMatch(word -> word.startsWith(lowerCasePrefix))) {
+                    results.add(eObject);
+                }
+            }
+        }
+        return results;
+    }
+
+    @Benchmark
+    public void renameWithIndex() {
+        this.renamedElement.eSet(FlowPackage.eINSTANCE.getNamed_Name(), "Processor_0_0_" + this.renameCount); //$NON-NLS-1$
+        this.renameCount++;
+    }
+}
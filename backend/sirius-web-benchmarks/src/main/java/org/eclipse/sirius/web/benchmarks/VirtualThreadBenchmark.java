@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the execution of concurrent requests blocked on I/O, by the thread pool of Tomcat or by a new virtual
+ * thread for each request, as with <code>sirius.web.threads.virtual.enabled=true</code>.
+ * <p>
+ * Each request is simulated by a task sleeping for the given latency, like a request waiting for the database or for
+ * another server. The virtual threads require Java 21 or later, the benchmarks with virtual threads fail with older
+ * versions of Java.
+ * </p>
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    /**
+     * The default maximum number of threads of Tomcat.
+     */
+    private static final int THREAD_POOL_SIZE = 200;
+
+    private static final String NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = "newVirtualThreadPerTaskExecutor"; //$NON-NLS-1$
+
+    @Param({ "false", "true" })
+    public boolean virtualThreads;
+
+    @Param({ "200", "2000" })
+    public int concurrentRequests;
+
+    @Param({ "10" })
+    public long latencyInMilliseconds;
+
+    private ExecutorService executorService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        if (this.virtualThreads) {
+            try {
+                this.executorService = (ExecutorService) Executors.class.getMethod(NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR).invoke(null);
+            } catch (NoSuchMethodException exception) {
+                throw new IllegalStateException("Virtual threads require Java 21 or later, the current version is " + Runtime.version(), exception); //$NON-NLS-1$
+            } catch (InvocationTargetException exception) {
+                throw new IllegalStateException(exception.getTargetException());
+            }
+        } else {
+            this.executorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.executorService.shutdownNow();
+    }
+
+    /**
+     * Executes the concurrent requests and waits for all of them.
+     */
+    @Benchmark
+    public int executeRequests() throws InterruptedException, ExecutionException {
+        List<Future<Integer>> futures = new ArrayList<>(this.concurrentRequests);
+        for (int i = 0; i < this.concurrentRequests; i++) {
+            int requestIndex = i;
+            futures.add(this.executorService.submit(() -> {
+                Thread.sleep(this.latencyInMilliseconds);
+                return requestIndex;
+            }));
+        }
+
+        int result = 0;
+        for (Future<Integer> future : futures) {
+            result += future.get();
+        }
+        return result;
+    }
+}
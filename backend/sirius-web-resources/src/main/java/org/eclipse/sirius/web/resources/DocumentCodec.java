@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.resources;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.sirius.emfjson.resource.JsonResource;
+import org.eclipse.sirius.web.emf.utils.EMFResourceUtils;
+
+/**
+ * Encodes the content of the documents in one of the {@link DocumentFormat}s, prefixed by the marker of the format.
+ * <p>
+ * The binary formats use the EMF binary serialization preceded by the identifiers of the elements, in the order of the
+ * contents of the resource, since the binary serialization does not keep them. The JSON format is the one of the
+ * existing documents, without marker, so that they can be read as they are and migrated when they are saved again.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class DocumentCodec {
+
+    private final Map<String, Object> binaryOptions = new HashMap<>();
+
+    public DocumentCodec() {
+        this.binaryOptions.put(BinaryResourceImpl.OPTION_VERSION, BinaryResourceImpl.BinaryIO.Version.VERSION_1_1);
+        this.binaryOptions.put(BinaryResourceImpl.OPTION_STYLE_BINARY_ENUMERATOR, Boolean.TRUE);
+        this.binaryOptions.put(BinaryResourceImpl.OPTION_STYLE_BINARY_FLOATING_POINT, Boolean.TRUE);
+    }
+
+    /**
+     * Encodes the given resource.
+     *
+     * @param resource
+     *            The resource to encode, a {@link JsonResource} for the JSON format
+     * @param format
+     *            The format of the content
+     * @return The content of the document
+     * @throws IOException
+     *             If the resource cannot be encoded
+     */
+    public byte[] encode(Resource resource, DocumentFormat format) throws IOException {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            if (format == DocumentFormat.JSON) {
+                Map<String, Object> jsonSaveOptions = new EMFResourceUtils().getFastJSONSaveOptions();
+                jsonSaveOptions.put(JsonResource.OPTION_ENCODING, JsonResource.ENCODING_UTF_8);
+                jsonSaveOptions.put(JsonResource.OPTION_SCHEMA_LOCATION, Boolean.TRUE);
+                resource.save(outputStream, jsonSaveOptions);
+            } else {
+                outputStream.write(format.getMarker());
+                if (format == DocumentFormat.COMPRESSED_BINARY) {
+                    try (OutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+                        this.writeBinary(resource, gzipOutputStream);
+                    }
+                } else {
+                    this.writeBinary(resource, outputStream);
+                }
+            }
+            return outputStream.toByteArray();
+        }
+    }
+
+    /**
+     * Writes the identifiers of the elements before their content since the input stream of the binary serialization
+     * may read ahead of the content.
+     */
+    private void writeBinary(Resource resource, OutputStream outputStream) throws IOException {
+        List<String> ids = new ArrayList<>();
+        TreeIterator<EObject> iterator = resource.getAllContents();
+        while (iterator.hasNext()) {
+            ids.add(ResourceIds.getId(resource, iterator.next()));
+        }
+
+        DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.writeInt(ids.size());
+        for (String id : ids) {
+            dataOutputStream.writeUTF(id);
+        }
+        dataOutputStream.flush();
+
+        BinaryResourceImpl.EObjectOutputStream eObjectOutputStream = new BinaryResourceImpl.EObjectOutputStream(outputStream, this.binaryOptions);
+        eObjectOutputStream.saveResource(resource);
+        eObjectOutputStream.flush();
+    }
+
+    /**
+     * Decodes the given content in the given resource.
+     *
+     * @param content
+     *            The content of the document
+     * @param resource
+     *            The resource in which the content will be loaded, a {@link JsonResource} like the production documents
+     *            or an {@link XMLResource} to keep the identifiers of the elements in the binary formats
+     * @throws IOException
+     *             If the content cannot be decoded
+     */
+    public void decode(byte[] content, Resource resource) throws IOException {
+        DocumentFormat format = DocumentFormat.of(content);
+        if (format == DocumentFormat.JSON) {
+            resource.load(new ByteArrayInputStream(content), new HashMap<>());
+        } else {
+            InputStream inputStream = new ByteArrayInputStream(content, 1, content.length - 1);
+            if (format == DocumentFormat.COMPRESSED_BINARY) {
+                inputStream = new GZIPInputStream(inputStream);
+            }
+            try (InputStream binaryInputStream = inputStream) {
+                this.readBinary(binaryInputStream, resource);
+            }
+        }
+    }
+
+    private void readBinary(InputStream inputStream, Resource resource) throws IOException {
+        DataInputStream dataInputStream = new DataInputStream(inputStream);
+        int count = dataInputStream.readInt();
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(dataInputStream.readUTF());
+        }
+
+        BinaryResourceImpl.EObjectInputStream eObjectInputStream = new BinaryResourceImpl.EObjectInputStream(inputStream, this.binaryOptions);
+        eObjectInputStream.loadResource(resource);
+
+        TreeIterator<EObject> iterator = resource.getAllContents();
+        for (int i = 0; i < ids.size() && iterator.hasNext(); i++) {
+            ResourceIds.setId(resource, iterator.next(), ids.get(i));
+        }
+    }
+
+    /**
+     * Migrates the given content to the given format.
+     * <p>
+     * The content already in this format is returned as it is, the other ones are decoded in the given resource, which
+     * should be empty, and encoded again.
+     * </p>
+     *
+     * @param content
+     *            The content of a document
+     * @param format
+     *            The format in which the document should be stored
+     * @param resource
+     *            The resource used to decode the content
+     * @return The content of the document in the given format
+     * @throws IOException
+     *             If the content cannot be migrated
+     */
+    public byte[] migrate(byte[] content, DocumentFormat format, Resource resource) throws IOException {
+        if (DocumentFormat.of(content) == format) {
+            return content;
+        }
+        this.decode(content, resource);
+        return this.encode(resource, format);
+    }
+}
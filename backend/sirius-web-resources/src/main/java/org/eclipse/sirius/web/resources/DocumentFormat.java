@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.resources;
+
+/**
+ * The formats of the content of the documents, identified by the first byte of the content.
+ * <p>
+ * The existing documents are stored as JSON and thus start with <code>{</code>, they can be read without any migration
+ * while the new documents are written in another format.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public enum DocumentFormat {
+    JSON((byte) '{'),
+
+    BINARY((byte) 0x01),
+
+    COMPRESSED_BINARY((byte) 0x02);
+
+    private final byte marker;
+
+    DocumentFormat(byte marker) {
+        this.marker = marker;
+    }
+
+    public byte getMarker() {
+        return this.marker;
+    }
+
+    /**
+     * Returns the format of the given content, the content without a known marker is considered as JSON.
+     *
+     * @param content
+     *            The content of a document
+     * @return The format of the content
+     */
+    public static DocumentFormat of(byte[] content) {
+        if (content.length > 0) {
+            for (DocumentFormat format : values()) {
+                if (format.marker == content[0]) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
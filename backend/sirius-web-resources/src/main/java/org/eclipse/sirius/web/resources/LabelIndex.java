@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.resources;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Index of the elements of a model by the words of their label, kept up to date with the notifications of the model.
+ * <p>
+ * The label of an element is the value of its label attribute, as given by the label feature provider. The whole label
+ * and each of its words, split on the characters which are neither letters nor digits, are indexed in lower case. A
+ * search returns the elements whose label or one of its words starts with the given prefix, up to the given limit.
+ * </p>
+ * <p>
+ * The index is not thread safe, it must be used from the thread modifying the model. It is not attached to the
+ * editing contexts of the server yet since they belong to sirius-components, as the GraphQL schema which would expose
+ * the search.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class LabelIndex extends EContentAdapter {
+
+    private static final String WORD_SEPARATOR = "[^\\p{L}\\p{N}]+"; //$NON-NLS-1$
+
+    private final Function<EObject, EAttribute> labelAttributeProvider;
+
+    private final NavigableMap<String, Set<EObject>> eObjectsByWord = new TreeMap<>();
+
+    private final Map<EObject, String> labels = new HashMap<>();
+
+    public LabelIndex(Function<EObject, EAttribute> labelAttributeProvider) {
+        this.labelAttributeProvider = Objects.requireNonNull(labelAttributeProvider);
+    }
+
+    /**
+     * Returns the elements with a word of their label starting with the given prefix.
+     *
+     * @param prefix
+     *            The prefix of the words, case insensitive
+     * @param limit
+     *            The maximum number of results
+     * @return The matching elements
+     */
+    public List<EObject> search(String prefix, int limit) {
+        String lowerCasePrefix = prefix.toLowerCase(Locale.ENGLISH);
+        Set<EObject> results = new LinkedHashSet<>();
+        for (Set<EObject> eObjects : this.eObjectsByWord.subMap(lowerCasePrefix, true, lowerCasePrefix + Character.MAX_VALUE, false).values()) {
+            for (EObject eObject : eObjects) {
+                results.add(eObject);
+                if (results.size() >= limit) {
+                    return new ArrayList<>(results);
+                }
+            }
+        }
+        return new ArrayList<>(results);
+    }
+
+    public int size() {
+        return this.labels.size();
+    }
+
+    @Override
+    public void notifyChanged(Notification notification) {
+        super.notifyChanged(notification);
+        if (notification.isTouch() || !(notification.getNotifier() instanceof EObject)) {
+            return;
+        }
+
+        EObject notifier = (EObject) notification.getNotifier();
+        Object feature = notification.getFeature();
+        if (feature instanceof EAttribute && feature == this.labelAttributeProvider.apply(notifier)) {
+            this.unindex(notifier);
+            this.index(notifier);
+        }
+    }
+
+    /**
+     * Indexes the elements added in the model, the adapter is added to each of them by its superclass.
+     */
+    @Override
+    protected void setTarget(EObject target) {
+        super.setTarget(target);
+        this.index(target);
+    }
+
+    @Override
+    protected void unsetTarget(EObject target) {
+        super.unsetTarget(target);
+        this.unindex(target);
+    }
+
+    private void index(EObject eObject) {
+        EAttribute labelAttribute = this.labelAttributeProvider.apply(eObject);
+        if (labelAttribute != null && eObject.eIsSet(labelAttribute)) {
+            String label = EcoreUtil.convertToString(labelAttribute.getEAttributeType(), eObject.eGet(labelAttribute));
+            if (label != null) {
+                this.labels.put(eObject, label);
+                for (String word : getWords(label)) {
+                    this.eObjectsByWord.computeIfAbsent(word, key -> new LinkedHashSet<>()).add(eObject);
+                }
+            }
+        }
+    }
+
+    private void unindex(EObject eObject) {
+        String label = this.labels.remove(eObject);
+        if (label != null) {
+            for (String word : getWords(label)) {
+                Set<EObject> eObjects = this.eObjectsByWord.getOrDefault(word, Collections.emptySet());
+                eObjects.remove(eObject);
+                if (eObjects.isEmpty()) {
+                    this.eObjectsByWord.remove(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the whole label and its words, in lower case, as they are indexed.
+     *
+     * @param label
+     *            A label
+     * @return The indexed words of the label
+     */
+    public static Set<String> getWords(String label) {
+        Set<String> words = new LinkedHashSet<>();
+        String lowerCaseLabel = label.toLowerCase(Locale.ENGLISH);
+        words.add(lowerCaseLabel);
+        for (String word : lowerCaseLabel.split(WORD_SEPARATOR)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.resources;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.FeatureMapUtil;
+
+/**
+ * Keeps track of the elements of a resource modified since the last delta, in order to persist only the changes
+ * instead of the whole document.
+ * <p>
+ * A delta starts with its version and the identifiers of the root elements, or {@link #UNCHANGED} if they have not
+ * changed. It then contains the number of modified elements and, for each of them, its identifier, the namespace URI
+ * and the name of its class and the number of its persisted features followed by each of them: its name, whether it
+ * is set or not and then the number of its values and each of them. The values of the attributes are written as
+ * strings and the references are written with the identifiers of their targets in the resource or with the URI of the
+ * targets in other resources. The strings are written as UTF-8 bytes prefixed by their length, {@link #NULL} for a
+ * null string. The removed elements are not written since their former container has been modified and its
+ * containment references do not list them anymore. The feature maps are not supported.
+ * </p>
+ * <p>
+ * The deltas are meant to be appended to a change log, replayed by a {@link ResourceDeltaReplayer} after the load of
+ * the last whole document, and periodically compacted by saving the whole document again. The tracker is not used by
+ * the server yet since the persistence of the documents belongs to sirius-components.
+ * </p>
+ *
+ * @author agent
+ */
+public class ResourceChangeTracker extends EContentAdapter {
+
+    /**
+     * The version of the format of the deltas.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The length written instead of the root elements when they have not changed.
+     */
+    public static final int UNCHANGED = -1;
+
+    /**
+     * The length written for a null string.
+     */
+    public static final int NULL = -1;
+
+    private final Set<EObject> changedEObjects = new LinkedHashSet<>();
+
+    private final Resource resource;
+
+    private boolean rootsChanged;
+
+    public ResourceChangeTracker(Resource resource) {
+        this.resource = resource;
+        resource.eAdapters().add(this);
+    }
+
+    @Override
+    public void notifyChanged(Notification notification) {
+        super.notifyChanged(notification);
+        if (notification.isTouch()) {
+            return;
+        }
+        if (notification.getNotifier() instanceof EObject) {
+            this.changedEObjects.add((EObject) notification.getNotifier());
+            if (notification.getFeature() instanceof EReference && ((EReference) notification.getFeature()).isContainment()) {
+                this.addContents(notification.getNewValue());
+            }
+        } else if (notification.getNotifier() == this.resource && notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS) {
+            this.rootsChanged = true;
+            this.addContents(notification.getNewValue());
+        }
+    }
+
+    private void addContents(Object value) {
+        if (value instanceof EObject) {
+            EObject eObject = (EObject) value;
+            this.changedEObjects.add(eObject);
+            eObject.eAllContents().forEachRemaining(this.changedEObjects::add);
+        } else if (value instanceof List<?>) {
+            ((List<?>) value).forEach(this::addContents);
+        }
+    }
+
+    public boolean hasChanges() {
+        return this.rootsChanged || !this.changedEObjects.isEmpty();
+    }
+
+    /**
+     * Returns the delta of the changes since the previous delta and starts tracking the following changes.
+     *
+     * @return The delta
+     * @throws IOException
+     *             If the delta cannot be written
+     */
+    public byte[] consumeDelta() throws IOException {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream(); DataOutputStream dataOutputStream = new DataOutputStream(outputStream)) {
+            dataOutputStream.writeInt(VERSION);
+            if (this.rootsChanged) {
+                this.writeReferences(this.resource.getContents(), dataOutputStream);
+            } else {
+                dataOutputStream.writeInt(UNCHANGED);
+            }
+
+            List<EObject> eObjects = this.changedEObjects.stream().filter(eObject -> eObject.eResource() == this.resource).collect(Collectors.toList());
+            dataOutputStream.writeInt(eObjects.size());
+            for (EObject eObject : eObjects) {
+                this.writeEObject(eObject, dataOutputStream);
+            }
+            this.changedEObjects.clear();
+            this.rootsChanged = false;
+            dataOutputStream.flush();
+            return outputStream.toByteArray();
+        }
+    }
+
+    private void writeEObject(EObject eObject, DataOutputStream dataOutputStream) throws IOException {
+        writeString(ResourceIds.getId(this.resource, eObject), dataOutputStream);
+        writeString(eObject.eClass().getEPackage().getNsURI(), dataOutputStream);
+        writeString(eObject.eClass().getName(), dataOutputStream);
+
+        List<EStructuralFeature> features = eObject.eClass().getEAllStructuralFeatures().stream().filter(ResourceChangeTracker::isPersisted).collect(Collectors.toList());
+        dataOutputStream.writeInt(features.size());
+        for (EStructuralFeature feature : features) {
+            writeString(feature.getName(), dataOutputStream);
+            boolean isSet = eObject.eIsSet(feature);
+            dataOutputStream.writeBoolean(isSet);
+            if (isSet) {
+                Object value = eObject.eGet(feature);
+                List<?> values;
+                if (feature.isMany()) {
+                    values = (List<?>) value;
+                } else if (value == null) {
+                    values = List.of();
+                } else {
+                    values = List.of(value);
+                }
+
+                if (feature instanceof EAttribute) {
+                    this.writeValues((EAttribute) feature, values, dataOutputStream);
+                } else {
+                    this.writeReferences(values, dataOutputStream);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tells if the given feature is persisted in the deltas, the feature maps being unsupported.
+     *
+     * @param feature
+     *            A feature
+     * @return <code>true</code> if the feature is persisted
+     */
+    static boolean isPersisted(EStructuralFeature feature) {
+        boolean isContainer = feature instanceof EReference && ((EReference) feature).isContainer();
+        return !feature.isTransient() && !feature.isDerived() && !isContainer && !FeatureMapUtil.isFeatureMap(feature);
+    }
+
+    private void writeValues(EAttribute attribute, List<?> values, DataOutputStream dataOutputStream) throws IOException {
+        dataOutputStream.writeInt(values.size());
+        for (Object value : values) {
+            writeString(EcoreUtil.convertToString(attribute.getEAttributeType(), value), dataOutputStream);
+        }
+    }
+
+    private void writeReferences(List<?> targets, DataOutputStream dataOutputStream) throws IOException {
+        dataOutputStream.writeInt(targets.size());
+        for (Object target : targets) {
+            EObject eObject = (EObject) target;
+            boolean isLocal = eObject.eResource() == this.resource;
+            dataOutputStream.writeBoolean(isLocal);
+            if (isLocal) {
+                writeString(ResourceIds.getId(this.resource, eObject), dataOutputStream);
+            } else {
+                writeString(EcoreUtil.getURI(eObject).toString(), dataOutputStream);
+            }
+        }
+    }
+
+    private static void writeString(String value, DataOutputStream dataOutputStream) throws IOException {
+        if (value == null) {
+            dataOutputStream.writeInt(NULL);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            dataOutputStream.writeInt(bytes.length);
+            dataOutputStream.write(bytes);
+        }
+    }
+}
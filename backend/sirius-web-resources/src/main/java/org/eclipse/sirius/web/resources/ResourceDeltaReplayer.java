@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.resources;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.emf.common.util.ECollections;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Replays the deltas written by a {@link ResourceChangeTracker} on a resource containing the state of the document
+ * before them.
+ * <p>
+ * The whole delta is read before modifying the resource, the elements unknown in the resource are created and the
+ * values of the features of the modified elements are then replaced by the ones of the delta, which moves, adds and
+ * removes the elements from their containers. The resource should use identifiers, like the {@link
+ * org.eclipse.sirius.emfjson.resource.JsonResource} of the documents, since the URI fragments of the other resources
+ * change with the position of the elements.
+ * </p>
+ *
+ * @author agent
+ */
+public class ResourceDeltaReplayer {
+
+    private final EPackage.Registry packageRegistry;
+
+    public ResourceDeltaReplayer(EPackage.Registry packageRegistry) {
+        this.packageRegistry = Objects.requireNonNull(packageRegistry);
+    }
+
+    /**
+     * Replays the given delta on the given resource.
+     *
+     * @param delta
+     *            A delta written by a {@link ResourceChangeTracker}
+     * @param resource
+     *            The resource
+     * @throws IOException
+     *             If the delta cannot be read
+     */
+    public void replay(byte[] delta, Resource resource) throws IOException {
+        try (DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(delta))) {
+            int version = dataInputStream.readInt();
+            if (version != ResourceChangeTracker.VERSION) {
+                throw new IOException("Unsupported delta version " + version); //$NON-NLS-1$
+            }
+
+            List<ReferenceValue> roots = null;
+            int rootCount = dataInputStream.readInt();
+            if (rootCount != ResourceChangeTracker.UNCHANGED) {
+                roots = this.readReferences(rootCount, dataInputStream);
+            }
+
+            int eObjectCount = dataInputStream.readInt();
+            List<EObjectRecord> eObjectRecords = new ArrayList<>(eObjectCount);
+            for (int i = 0; i < eObjectCount; i++) {
+                eObjectRecords.add(this.readEObject(dataInputStream));
+            }
+
+            this.apply(resource, roots, eObjectRecords);
+        }
+    }
+
+    private EObjectRecord readEObject(DataInputStream dataInputStream) throws IOException {
+        String id = readString(dataInputStream);
+        String nsURI = readString(dataInputStream);
+        String className = readString(dataInputStream);
+        EClass eClass = this.getEClass(nsURI, className);
+
+        int featureCount = dataInputStream.readInt();
+        List<FeatureRecord> featureRecords = new ArrayList<>(featureCount);
+        for (int i = 0; i < featureCount; i++) {
+            String featureName = readString(dataInputStream);
+            EStructuralFeature feature = eClass.getEStructuralFeature(featureName);
+            if (feature == null) {
+                throw new IOException("Unknown feature " + className + "." + featureName); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+
+            List<Object> values = null;
+            boolean isSet = dataInputStream.readBoolean();
+            if (isSet) {
+                int valueCount = dataInputStream.readInt();
+                if (feature instanceof EAttribute) {
+                    values = new ArrayList<>(valueCount);
+                    for (int j = 0; j < valueCount; j++) {
+                        values.add(EcoreUtil.createFromString(((EAttribute) feature).getEAttributeType(), readString(dataInputStream)));
+                    }
+                } else {
+                    values = new ArrayList<>(this.readReferences(valueCount, dataInputStream));
+                }
+            }
+            featureRecords.add(new FeatureRecord(feature, values));
+        }
+        return new EObjectRecord(id, eClass, featureRecords);
+    }
+
+    private EClass getEClass(String nsURI, String className) throws IOException {
+        EPackage ePackage = this.packageRegistry.getEPackage(nsURI);
+        EClassifier eClassifier = null;
+        if (ePackage != null) {
+            eClassifier = ePackage.getEClassifier(className);
+        }
+        if (!(eClassifier instanceof EClass)) {
+            throw new IOException("Unknown class " + nsURI + "#" + className); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return (EClass) eClassifier;
+    }
+
+    private List<ReferenceValue> readReferences(int count, DataInputStream dataInputStream) throws IOException {
+        List<ReferenceValue> references = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean isLocal = dataInputStream.readBoolean();
+            references.add(new ReferenceValue(isLocal, readString(dataInputStream)));
+        }
+        return references;
+    }
+
+    private void apply(Resource resource, List<ReferenceValue> roots, List<EObjectRecord> eObjectRecords) throws IOException {
+        Map<String, EObject> eObjectsById = new HashMap<>();
+        resource.getAllContents().forEachRemaining(eObject -> eObjectsById.put(ResourceIds.getId(resource, eObject), eObject));
+
+        for (EObjectRecord eObjectRecord : eObjectRecords) {
+            eObjectsById.computeIfAbsent(eObjectRecord.id, id -> EcoreUtil.create(eObjectRecord.eClass));
+        }
+
+        for (EObjectRecord eObjectRecord : eObjectRecords) {
+            EObject eObject = eObjectsById.get(eObjectRecord.id);
+            for (FeatureRecord featureRecord : eObjectRecord.featureRecords) {
+                this.apply(eObject, featureRecord, eObjectsById);
+            }
+        }
+
+        if (roots != null) {
+            List<EObject> rootEObjects = new ArrayList<>(roots.size());
+            for (ReferenceValue root : roots) {
+                rootEObjects.add((EObject) this.resolve(root, EcorePackage.Literals.EOBJECT, eObjectsById));
+            }
+            ECollections.setEList(resource.getContents(), rootEObjects);
+        }
+
+        // The resource forgets the identifiers of the elements detached while they are moved
+        eObjectsById.forEach((id, eObject) -> {
+            if (eObject.eResource() == resource) {
+                ResourceIds.setId(resource, eObject, id);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void apply(EObject eObject, FeatureRecord featureRecord, Map<String, EObject> eObjectsById) throws IOException {
+        EStructuralFeature feature = featureRecord.feature;
+        if (featureRecord.values == null) {
+            eObject.eUnset(feature);
+            return;
+        }
+
+        List<Object> values = featureRecord.values;
+        if (feature instanceof EReference) {
+            values = new ArrayList<>(values.size());
+            for (Object value : featureRecord.values) {
+                values.add(this.resolve((ReferenceValue) value, ((EReference) feature).getEReferenceType(), eObjectsById));
+            }
+        }
+
+        if (feature.isMany()) {
+            ECollections.setEList((EList<Object>) eObject.eGet(feature), values);
+        } else if (values.isEmpty()) {
+            eObject.eSet(feature, null);
+        } else {
+            eObject.eSet(feature, values.get(0));
+        }
+    }
+
+    /**
+     * Resolves the target of a reference with its identifier or creates a proxy to the target in another resource.
+     */
+    private Object resolve(ReferenceValue referenceValue, EClass eClass, Map<String, EObject> eObjectsById) throws IOException {
+        if (referenceValue.isLocal) {
+            EObject eObject = eObjectsById.get(referenceValue.value);
+            if (eObject == null) {
+                throw new IOException("Unknown element " + referenceValue.value); //$NON-NLS-1$
+            }
+            return eObject;
+        }
+        EObject proxy = EcoreUtil.create(eClass);
+        ((InternalEObject) proxy).eSetProxyURI(URI.createURI(referenceValue.value));
+        return proxy;
+    }
+
+    private static String readString(DataInputStream dataInputStream) throws IOException {
+        int length = dataInputStream.readInt();
+        if (length == ResourceChangeTracker.NULL) {
+            return null;
+        }
+        byte[] bytes = dataInputStream.readNBytes(length);
+        if (bytes.length != length) {
+            throw new IOException("Truncated delta"); //$NON-NLS-1$
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A reference to an element of the resource by its identifier or to an element of another resource by its URI.
+     *
+     * @author agent
+     */
+    private static final class ReferenceValue {
+        private final boolean isLocal;
+
+        private final String value;
+
+        ReferenceValue(boolean isLocal, String value) {
+            this.isLocal = isLocal;
+            this.value = value;
+        }
+    }
+
+    /**
+     * The values of a feature, null if the feature is unset.
+     *
+     * @author agent
+     */
+    private static final class FeatureRecord {
+        private final EStructuralFeature feature;
+
+        private final List<Object> values;
+
+        FeatureRecord(EStructuralFeature feature, List<Object> values) {
+            this.feature = feature;
+            this.values = values;
+        }
+    }
+
+    /**
+     * A modified element.
+     *
+     * @author agent
+     */
+    private static final class EObjectRecord {
+        private final String id;
+
+        private final EClass eClass;
+
+        private final List<FeatureRecord> featureRecords;
+
+        EObjectRecord(String id, EClass eClass, List<FeatureRecord> featureRecords) {
+            this.id = id;
+            this.eClass = eClass;
+            this.featureRecords = featureRecords;
+        }
+    }
+}
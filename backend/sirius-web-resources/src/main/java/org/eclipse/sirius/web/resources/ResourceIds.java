@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.resources;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.sirius.emfjson.resource.JsonResource;
+
+/**
+ * Reads and writes the identifiers of the elements of the {@link JsonResource}s of the documents, or of the
+ * {@link XMLResource}s, the other resources using the URI fragments of their elements.
+ *
+ * @author agent
+ */
+final class ResourceIds {
+
+    private ResourceIds() {
+        // Prevent instantiation
+    }
+
+    static String getId(Resource resource, EObject eObject) {
+        String id = null;
+        if (resource instanceof JsonResource) {
+            id = ((JsonResource) resource).getID(eObject);
+        } else if (resource instanceof XMLResource) {
+            id = ((XMLResource) resource).getID(eObject);
+        }
+        if (id == null) {
+            id = resource.getURIFragment(eObject);
+        }
+        return id;
+    }
+
+    static void setId(Resource resource, EObject eObject, String id) {
+        if (resource instanceof JsonResource) {
+            ((JsonResource) resource).setID(eObject, id);
+        } else if (resource instanceof XMLResource) {
+            ((XMLResource) resource).setID(eObject, id);
+        }
+    }
+}
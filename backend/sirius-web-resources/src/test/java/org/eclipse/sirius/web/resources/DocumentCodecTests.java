@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests of the document codec.
+ *
+ * @author agent
+ */
+public class DocumentCodecTests {
+
+    private XMLResource createResource() {
+        XMLResource resource = new XMIResourceImpl(URI.createURI("test.xmi")); //$NON-NLS-1$
+        EObject root = TestModels.createNode("root"); //$NON-NLS-1$
+        EObject first = TestModels.createNode("first"); //$NON-NLS-1$
+        EObject second = TestModels.createNode("second"); //$NON-NLS-1$
+        first.eSet(TestModels.TAGS, List.of("a", "b")); //$NON-NLS-1$ //$NON-NLS-2$
+        second.eSet(TestModels.TARGETS, List.of(first));
+        root.eSet(TestModels.CHILDREN, List.of(first, second));
+        resource.getContents().add(root);
+
+        resource.setID(root, "0d3bb1a4-4f25-4b34-8a4a-42d1e6ff2b2d"); //$NON-NLS-1$
+        resource.setID(first, "7e1b3e1c-3c8e-4b39-9a38-4cd2b3e4c9a0"); //$NON-NLS-1$
+        resource.setID(second, "c2f0a8e5-58a4-4b54-a4bd-8f3f3b9e9e61"); //$NON-NLS-1$
+        return resource;
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        this.assertRoundTrip(DocumentFormat.BINARY);
+    }
+
+    @Test
+    public void testCompressedBinaryRoundTrip() throws IOException {
+        this.assertRoundTrip(DocumentFormat.COMPRESSED_BINARY);
+    }
+
+    private void assertRoundTrip(DocumentFormat format) throws IOException {
+        DocumentCodec documentCodec = new DocumentCodec();
+        XMLResource resource = this.createResource();
+
+        byte[] content = documentCodec.encode(resource, format);
+        assertThat(DocumentFormat.of(content)).isEqualTo(format);
+
+        XMLResource decodedResource = new XMIResourceImpl(URI.createURI("decoded.xmi")); //$NON-NLS-1$
+        documentCodec.decode(content, decodedResource);
+
+        assertThat(EcoreUtil.equals(resource.getContents(), decodedResource.getContents())).isTrue();
+
+        TreeIterator<EObject> iterator = resource.getAllContents();
+        TreeIterator<EObject> decodedIterator = decodedResource.getAllContents();
+        while (iterator.hasNext()) {
+            assertThat(decodedResource.getID(decodedIterator.next())).isEqualTo(resource.getID(iterator.next()));
+        }
+        assertThat(decodedIterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testExistingJSONContentDetected() {
+        byte[] content = "{\"json\":{}}".getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+        assertThat(DocumentFormat.of(content)).isEqualTo(DocumentFormat.JSON);
+        assertThat(DocumentFormat.of(new byte[0])).isEqualTo(DocumentFormat.JSON);
+    }
+
+    @Test
+    public void testMigrationToSameFormatKeepsContent() throws IOException {
+        DocumentCodec documentCodec = new DocumentCodec();
+        byte[] content = documentCodec.encode(this.createResource(), DocumentFormat.BINARY);
+
+        byte[] migratedContent = documentCodec.migrate(content, DocumentFormat.BINARY, new XMIResourceImpl());
+
+        assertThat(migratedContent).isSameAs(content);
+    }
+
+    @Test
+    public void testMigrationToAnotherFormat() throws IOException {
+        DocumentCodec documentCodec = new DocumentCodec();
+        XMLResource resource = this.createResource();
+        byte[] content = documentCodec.encode(resource, DocumentFormat.BINARY);
+
+        byte[] migratedContent = documentCodec.migrate(content, DocumentFormat.COMPRESSED_BINARY, new XMIResourceImpl());
+        XMLResource decodedResource = new XMIResourceImpl();
+        documentCodec.decode(migratedContent, decodedResource);
+
+        assertThat(DocumentFormat.of(migratedContent)).isEqualTo(DocumentFormat.COMPRESSED_BINARY);
+        assertThat(EcoreUtil.equals(resource.getContents(), decodedResource.getContents())).isTrue();
+    }
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests of the label index.
+ *
+ * @author agent
+ */
+public class LabelIndexTests {
+
+    private final LabelIndex labelIndex = new LabelIndex(eObject -> TestModels.NAME);
+
+    private final EObject root = TestModels.createNode("Root"); //$NON-NLS-1$
+
+    private final EObject pump = TestModels.createNode("Main water_pump"); //$NON-NLS-1$
+
+    private final EObject valve = TestModels.createNode("Valve"); //$NON-NLS-1$
+
+    public LabelIndexTests() {
+        this.root.eSet(TestModels.CHILDREN, List.of(this.pump, this.valve));
+        Resource resource = new XMIResourceImpl(URI.createURI("test.xmi")); //$NON-NLS-1$
+        resource.getContents().add(this.root);
+        resource.eAdapters().add(this.labelIndex);
+    }
+
+    @Test
+    public void testSearchByLabelAndWords() {
+        assertThat(this.labelIndex.size()).isEqualTo(3);
+        assertThat(this.labelIndex.search("main w", 10)).containsExactly(this.pump); //$NON-NLS-1$
+        assertThat(this.labelIndex.search("WAT", 10)).containsExactly(this.pump); //$NON-NLS-1$
+        assertThat(this.labelIndex.search("pump", 10)).containsExactly(this.pump); //$NON-NLS-1$
+        assertThat(this.labelIndex.search("ump", 10)).isEmpty(); //$NON-NLS-1$
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSearchLimit() {
+        EObject otherValve = TestModels.createNode("Valve 2"); //$NON-NLS-1$
+        ((List<EObject>) this.root.eGet(TestModels.CHILDREN)).add(otherValve);
+
+        assertThat(this.labelIndex.search("valve", 10)).containsExactlyInAnyOrder(this.valve, otherValve); //$NON-NLS-1$
+        assertThat(this.labelIndex.search("valve", 1)).hasSize(1); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testRename() {
+        this.valve.eSet(TestModels.NAME, "Gate"); //$NON-NLS-1$
+
+        assertThat(this.labelIndex.search("valve", 10)).isEmpty(); //$NON-NLS-1$
+        assertThat(this.labelIndex.search("gate", 10)).containsExactly(this.valve); //$NON-NLS-1$
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAddAndRemove() {
+        EObject filter = TestModels.createNode("Filter"); //$NON-NLS-1$
+        ((List<EObject>) this.pump.eGet(TestModels.CHILDREN)).add(filter);
+        assertThat(this.labelIndex.search("filter", 10)).containsExactly(filter); //$NON-NLS-1$
+
+        EcoreUtil.remove(this.pump);
+        assertThat(this.labelIndex.search("filter", 10)).isEmpty(); //$NON-NLS-1$
+        assertThat(this.labelIndex.search("pump", 10)).isEmpty(); //$NON-NLS-1$
+        assertThat(this.labelIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testWords() {
+        assertThat(LabelIndex.getWords("Main water_pump")).containsExactly("main water_pump", "main", "water", "pump"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+    }
+}
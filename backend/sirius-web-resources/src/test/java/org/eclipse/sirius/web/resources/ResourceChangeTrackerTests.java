@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests of the resource change tracker and of the replay of its deltas.
+ *
+ * @author agent
+ */
+public class ResourceChangeTrackerTests {
+
+    private final ResourceDeltaReplayer replayer = new ResourceDeltaReplayer(EPackage.Registry.INSTANCE);
+
+    private XMLResource createResource() {
+        XMLResource resource = new XMIResourceImpl(URI.createURI("test.xmi")); //$NON-NLS-1$
+        EObject root = TestModels.createNode("root"); //$NON-NLS-1$
+        EObject first = TestModels.createNode("first"); //$NON-NLS-1$
+        EObject second = TestModels.createNode("second"); //$NON-NLS-1$
+        EObject third = TestModels.createNode("third"); //$NON-NLS-1$
+        first.eSet(TestModels.TAGS, List.of("a", "b")); //$NON-NLS-1$ //$NON-NLS-2$
+        first.eSet(TestModels.CHILDREN, List.of(third));
+        second.eSet(TestModels.TARGETS, List.of(first));
+        root.eSet(TestModels.CHILDREN, List.of(first, second));
+        resource.getContents().add(root);
+        this.assignIds(resource);
+        return resource;
+    }
+
+    private void assignIds(XMLResource resource) {
+        resource.getAllContents().forEachRemaining(eObject -> {
+            if (resource.getID(eObject) == null) {
+                resource.setID(eObject, UUID.randomUUID().toString());
+            }
+        });
+    }
+
+    /**
+     * Copies the given resource, as if the saved document was loaded again.
+     */
+    private XMLResource copy(XMLResource resource) {
+        XMLResource copy = new XMIResourceImpl(URI.createURI("copy.xmi")); //$NON-NLS-1$
+        EcoreUtil.Copier copier = new EcoreUtil.Copier();
+        copy.getContents().addAll(copier.copyAll(resource.getContents()));
+        copier.copyReferences();
+        copier.forEach((original, copied) -> copy.setID(copied, resource.getID(original)));
+        return copy;
+    }
+
+    private void assertSameDocument(XMLResource expected, XMLResource actual) {
+        assertThat(EcoreUtil.equals(expected.getContents(), actual.getContents())).isTrue();
+        TreeIterator<EObject> expectedIterator = expected.getAllContents();
+        TreeIterator<EObject> actualIterator = actual.getAllContents();
+        while (expectedIterator.hasNext()) {
+            assertThat(actual.getID(actualIterator.next())).isEqualTo(expected.getID(expectedIterator.next()));
+        }
+        assertThat(actualIterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testNoChanges() throws IOException {
+        XMLResource resource = this.createResource();
+        ResourceChangeTracker changeTracker = new ResourceChangeTracker(resource);
+        assertThat(changeTracker.hasChanges()).isFalse();
+
+        resource.getContents().get(0).eSet(TestModels.NAME, "renamed"); //$NON-NLS-1$
+        assertThat(changeTracker.hasChanges()).isTrue();
+
+        changeTracker.consumeDelta();
+        assertThat(changeTracker.hasChanges()).isFalse();
+    }
+
+    @Test
+    public void testReplayOfEdits() throws IOException {
+        XMLResource resource = this.createResource();
+        XMLResource savedResource = this.copy(resource);
+        ResourceChangeTracker changeTracker = new ResourceChangeTracker(resource);
+
+        EObject root = resource.getContents().get(0);
+        EObject first = (EObject) ((List<?>) root.eGet(TestModels.CHILDREN)).get(0);
+        EObject second = (EObject) ((List<?>) root.eGet(TestModels.CHILDREN)).get(1);
+        EObject third = (EObject) ((List<?>) first.eGet(TestModels.CHILDREN)).get(0);
+
+        // A label longer than the 64KB supported by DataOutput.writeUTF
+        first.eSet(TestModels.NAME, "x".repeat(70_000)); //$NON-NLS-1$
+        first.eSet(TestModels.TAGS, List.of("b", "c", "d")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        second.eUnset(TestModels.NAME);
+        second.eSet(TestModels.TARGETS, List.of(third, root));
+        second.eSet(TestModels.CHILDREN, List.of(third));
+        EObject added = TestModels.createNode("added"); //$NON-NLS-1$
+        added.eSet(TestModels.CHILDREN, List.of(TestModels.createNode("nested"))); //$NON-NLS-1$
+        first.eSet(TestModels.CHILDREN, List.of(added));
+        resource.getContents().add(TestModels.createNode("other root")); //$NON-NLS-1$
+        this.assignIds(resource);
+
+        this.replayer.replay(changeTracker.consumeDelta(), savedResource);
+
+        this.assertSameDocument(resource, savedResource);
+        assertThat(savedResource.getContents().get(0).eIsSet(TestModels.NAME)).isTrue();
+        EObject savedSecond = savedResource.getEObject(resource.getID(second));
+        assertThat(savedSecond.eIsSet(TestModels.NAME)).isFalse();
+    }
+
+    @Test
+    public void testReplayOfChangeLog() throws IOException {
+        XMLResource resource = this.createResource();
+        XMLResource savedResource = this.copy(resource);
+        ResourceChangeTracker changeTracker = new ResourceChangeTracker(resource);
+
+        EObject root = resource.getContents().get(0);
+        EObject first = (EObject) ((List<?>) root.eGet(TestModels.CHILDREN)).get(0);
+        first.eSet(TestModels.NAME, "renamed"); //$NON-NLS-1$
+        byte[] firstDelta = changeTracker.consumeDelta();
+
+        EcoreUtil.delete(first, true);
+        byte[] secondDelta = changeTracker.consumeDelta();
+
+        this.replayer.replay(firstDelta, savedResource);
+        this.replayer.replay(secondDelta, savedResource);
+
+        this.assertSameDocument(resource, savedResource);
+    }
+
+    @Test
+    public void testUnsupportedVersion() {
+        byte[] delta = { 0, 0, 0, 42 };
+        XMLResource resource = this.createResource();
+        assertThatThrownBy(() -> this.replayer.replay(delta, resource)).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.resources;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * A small dynamic metamodel used by the unit tests, with nodes containing other nodes and referencing them.
+ *
+ * @author agent
+ */
+public final class TestModels {
+
+    public static final EPackage PACKAGE;
+
+    public static final EClass NODE;
+
+    public static final EAttribute NAME;
+
+    public static final EAttribute TAGS;
+
+    public static final EReference CHILDREN;
+
+    public static final EReference TARGETS;
+
+    static {
+        EcoreFactory factory = EcoreFactory.eINSTANCE;
+        PACKAGE = factory.createEPackage();
+        PACKAGE.setName("test"); //$NON-NLS-1$
+        PACKAGE.setNsPrefix("test"); //$NON-NLS-1$
+        PACKAGE.setNsURI("http://www.eclipse.org/sirius-web/resources/test"); //$NON-NLS-1$
+
+        NODE = factory.createEClass();
+        NODE.setName("Node"); //$NON-NLS-1$
+        PACKAGE.getEClassifiers().add(NODE);
+
+        NAME = factory.createEAttribute();
+        NAME.setName("name"); //$NON-NLS-1$
+        NAME.setEType(EcorePackage.Literals.ESTRING);
+        NODE.getEStructuralFeatures().add(NAME);
+
+        TAGS = factory.createEAttribute();
+        TAGS.setName("tags"); //$NON-NLS-1$
+        TAGS.setEType(EcorePackage.Literals.ESTRING);
+        TAGS.setUpperBound(-1);
+        NODE.getEStructuralFeatures().add(TAGS);
+
+        CHILDREN = factory.createEReference();
+        CHILDREN.setName("children"); //$NON-NLS-1$
+        CHILDREN.setEType(NODE);
+        CHILDREN.setContainment(true);
+        CHILDREN.setUpperBound(-1);
+        NODE.getEStructuralFeatures().add(CHILDREN);
+
+        TARGETS = factory.createEReference();
+        TARGETS.setName("targets"); //$NON-NLS-1$
+        TARGETS.setEType(NODE);
+        TARGETS.setUpperBound(-1);
+        NODE.getEStructuralFeatures().add(TARGETS);
+
+        EPackage.Registry.INSTANCE.put(PACKAGE.getNsURI(), PACKAGE);
+    }
+
+    private TestModels() {
+        // Prevent instantiation
+    }
+
+    public static EObject createNode(String name) {
+        EObject node = EcoreUtil.create(NODE);
+        node.eSet(NAME, name);
+        return node;
+    }
+}
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.configuration;
+
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Keeps the parsed and validated GraphQL documents by query text in order to skip their parsing and their validation
+ * for the following requests.
+ * <p>
+ * The documents with errors are not kept so that invalid queries cannot evict the valid ones.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    private static final String CACHE_NAME = "siriusweb_graphql_documents"; //$NON-NLS-1$
+
+    private final Cache<String, PreparsedDocumentEntry> cache;
+
+    CachingPreparsedDocumentProvider(MeterRegistry meterRegistry, long maximumSize) {
+        this.cache = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String query = executionInput.getQuery();
+        PreparsedDocumentEntry entry = this.cache.getIfPresent(query);
+        if (entry == null) {
+            entry = parseAndValidateFunction.apply(executionInput);
+            if (!entry.hasErrors()) {
+                this.cache.put(query, entry);
+            }
+        }
+        return entry;
+    }
+
+}
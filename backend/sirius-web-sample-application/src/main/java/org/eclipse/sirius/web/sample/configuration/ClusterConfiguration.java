@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.sirius.web.sample.services.ClusterRequestAuthenticator;
+import org.eclipse.sirius.web.sample.services.IClusterEventBus;
+import org.eclipse.sirius.web.sample.services.IProjectOwnershipRegistry;
+import org.eclipse.sirius.web.sample.services.LoopbackClusterEventBus;
+import org.eclipse.sirius.web.sample.services.RendezvousProjectOwnershipRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the deployment of Sirius Web on several nodes, enabled with
+ * <code>sirius.web.cluster.enabled=true</code>.
+ * <p>
+ * The nodes are given with <code>sirius.web.cluster.nodes</code> and the current one with
+ * <code>sirius.web.cluster.node</code>, both as the base URLs used by the nodes to reach each other. The requests
+ * forwarded between the nodes are signed with <code>sirius.web.cluster.secret</code>, which must be the same on all
+ * the nodes. Other implementations of the ownership registry and of the event bus can be provided as beans to replace
+ * the default ones.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Configuration
+@ConditionalOnProperty(name = "sirius.web.cluster.enabled", havingValue = "true")
+public class ClusterConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IProjectOwnershipRegistry projectOwnershipRegistry(@Value("${sirius.web.cluster.node:}") String localNode, @Value("${sirius.web.cluster.nodes:}") String[] nodes) {
+        // @formatter:off
+        List<String> clusterNodes = Arrays.stream(nodes)
+                .map(String::trim)
+                .filter(node -> !node.isEmpty())
+                .collect(Collectors.toList());
+        // @formatter:on
+
+        if (localNode.isBlank() || !clusterNodes.contains(localNode.trim())) {
+            throw new IllegalStateException("sirius.web.cluster.node must be one of sirius.web.cluster.nodes when the cluster is enabled"); //$NON-NLS-1$
+        }
+        return new RendezvousProjectOwnershipRegistry(localNode.trim(), clusterNodes);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IClusterEventBus clusterEventBus() {
+        return new LoopbackClusterEventBus();
+    }
+
+    @Bean
+    public ClusterRequestAuthenticator clusterRequestAuthenticator(@Value("${sirius.web.cluster.secret:}") String secret,
+            @Value("${sirius.web.cluster.max.clock.skew:30}") long maxClockSkewInSeconds) {
+        return new ClusterRequestAuthenticator(secret, Duration.ofSeconds(maxClockSkewInSeconds), Clock.systemUTC());
+    }
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} limiting the number of connections used at the same time.
+ * <p>
+ * With one thread per request, the number of threads waiting for a connection is bounded by the size of the thread
+ * pool. With virtual threads, thousands of requests can wait for the connection pool at the same time and fail once
+ * its timeout is reached. The requests thus wait for a permit first, the permit being released when the connection is
+ * closed.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+
+    private static final String CLOSE = "close"; //$NON-NLS-1$
+
+    private final Semaphore semaphore;
+
+    private final Duration maxWait;
+
+    ConcurrencyLimitingDataSource(DataSource targetDataSource, int maxConcurrentConnections, Duration maxWait) {
+        super(targetDataSource);
+        this.semaphore = new Semaphore(maxConcurrentConnections, true);
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        this.acquire();
+        try {
+            return this.releaseOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException exception) {
+            this.semaphore.release();
+            throw exception;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        this.acquire();
+        try {
+            return this.releaseOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException exception) {
+            this.semaphore.release();
+            throw exception;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        boolean acquired = false;
+        try {
+            acquired = this.semaphore.tryAcquire(this.maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        if (!acquired) {
+            throw new SQLTransientConnectionException("No database connection available after " + this.maxWait.toMillis() + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    /**
+     * Returns a proxy of the given connection releasing the permit the first time it is closed.
+     */
+    private Connection releaseOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException exception) {
+                throw exception.getTargetException();
+            } finally {
+                if (CLOSE.equals(method.getName()) && released.compareAndSet(false, true)) {
+                    this.semaphore.release();
+                }
+            }
+        });
+    }
+
+    public int getAvailablePermits() {
+        return this.semaphore.availablePermits();
+    }
+}
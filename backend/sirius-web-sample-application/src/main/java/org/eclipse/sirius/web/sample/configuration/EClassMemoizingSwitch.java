@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.configuration;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.Switch;
+
+/**
+ * {@link Switch} keeping the result of another switch for each {@link EClass}.
+ * <p>
+ * The switches used for the labels are called for each element on each refresh and they walk the hierarchy of
+ * supertypes every time. Since their result only depends on the type of the element, it is computed once for each
+ * EClass, of any package, and then retrieved with a single lookup. The EClasses of the given package are computed
+ * eagerly.
+ * </p>
+ *
+ * @param <T>
+ *            The type of the result of the switch
+ * @author sbegaudeau
+ */
+class EClassMemoizingSwitch<T> extends Switch<T> {
+
+    private final Switch<T> delegate;
+
+    private final Map<EClass, Optional<T>> results = new ConcurrentHashMap<>();
+
+    EClassMemoizingSwitch(Switch<T> delegate, EPackage ePackage) {
+        this.delegate = Objects.requireNonNull(delegate);
+        for (EClassifier eClassifier : ePackage.getEClassifiers()) {
+            if (eClassifier instanceof EClass) {
+                EClass eClass = (EClass) eClassifier;
+                if (!eClass.isAbstract() && !eClass.isInterface()) {
+                    this.doSwitch(EcoreUtil.create(eClass));
+                }
+            }
+        }
+    }
+
+    @Override
+    public T doSwitch(EObject eObject) {
+        return this.results.computeIfAbsent(eObject.eClass(), eClass -> Optional.ofNullable(this.delegate.doSwitch(eObject))).orElse(null);
+    }
+
+    @Override
+    protected boolean isSwitchFor(EPackage ePackage) {
+        return true;
+    }
+
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import graphql.GraphQL;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration of the GraphQL engine.
+ * <p>
+ * It sets the timers of the operations and the coalescing of the events of the subscriptions as the instrumentations
+ * of the engine, and the cache of the parsed and validated documents. The instrumentations replace the one given to
+ * the engine by sirius-components, if any, since graphql-java does not expose it, and graphql-java adds its default
+ * instrumentation of the data loaders back.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Configuration
+public class GraphQLEngineConfiguration {
+
+    /**
+     * Customizes the GraphQL engine.
+     * <p>
+     * This post processor is declared as static in order to be registered before the creation of the other beans.
+     * </p>
+     */
+    @Bean
+    public static BeanPostProcessor graphQLEngineBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistryProvider,
+            @Value("${sirius.web.graphql.metrics.operations:getProjects,getRepresentation,createProject,uploadProject}") String[] knownOperationNames,
+            @Value("${sirius.web.graphql.metrics.operations.max.unknown:50}") int maximumUnknownOperationNames,
+            @Value("${sirius.web.graphql.documents.cache.max.size:1000}") long documentCacheMaximumSize,
+            @Value("${sirius.web.graphql.subscriptions.coalescing.window:50}") long coalescingWindowInMilliseconds,
+            @Value("${sirius.web.graphql.subscriptions.coalescing.types:DiagramRefreshedEventPayload,FormRefreshedEventPayload,TreeRefreshedEventPayload}") String[] coalescedTypenames) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof GraphQL) {
+                    MeterRegistry meterRegistry = meterRegistryProvider.getObject();
+
+                    List<Instrumentation> instrumentations = new ArrayList<>();
+                    instrumentations.add(new GraphQLMetricsInstrumentation(meterRegistry, Set.copyOf(Arrays.asList(knownOperationNames)), maximumUnknownOperationNames));
+                    if (coalescingWindowInMilliseconds > 0) {
+                        instrumentations.add(new SubscriptionCoalescingInstrumentation(Duration.ofMillis(coalescingWindowInMilliseconds), Set.copyOf(Arrays.asList(coalescedTypenames))));
+                    }
+                    ChainedInstrumentation instrumentation = new ChainedInstrumentation(instrumentations);
+                    CachingPreparsedDocumentProvider preparsedDocumentProvider = new CachingPreparsedDocumentProvider(meterRegistry, documentCacheMaximumSize);
+
+                    // @formatter:off
+                    return ((GraphQL) bean).transform(builder -> builder
+                            .instrumentation(instrumentation)
+                            .preparsedDocumentProvider(preparsedDocumentProvider));
+                    // @formatter:on
+                }
+                return bean;
+            }
+        };
+    }
+}
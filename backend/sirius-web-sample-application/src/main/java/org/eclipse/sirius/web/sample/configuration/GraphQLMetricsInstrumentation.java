@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.configuration;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.language.OperationDefinition;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Instrumentation used to time the execution of the GraphQL queries, mutations and subscriptions.
+ * <p>
+ * The name of the operations is given by the clients, it is thus only used as a tag for the known operations and for
+ * a bounded number of other operations. All the remaining operations share the name <code>other</code> so that a
+ * client cannot create an unbounded number of timers.
+ * </p>
+ *
+ * @author hmarchadour
+ */
+class GraphQLMetricsInstrumentation extends SimpleInstrumentation {
+
+    private static final String TIMER_NAME = "siriusweb_graphql_execution"; //$NON-NLS-1$
+
+    private static final String OPERATION = "operation"; //$NON-NLS-1$
+
+    private static final String NAME = "name"; //$NON-NLS-1$
+
+    private static final String OUTCOME = "outcome"; //$NON-NLS-1$
+
+    private static final String ANONYMOUS = "anonymous"; //$NON-NLS-1$
+
+    private static final String OTHER = "other"; //$NON-NLS-1$
+
+    private static final String SUCCESS = "success"; //$NON-NLS-1$
+
+    private static final String ERROR = "error"; //$NON-NLS-1$
+
+    private final MeterRegistry meterRegistry;
+
+    private final Set<String> knownOperationNames;
+
+    private final int maximumUnknownOperationNames;
+
+    private final Set<String> unknownOperationNames = ConcurrentHashMap.newKeySet();
+
+    GraphQLMetricsInstrumentation(MeterRegistry meterRegistry, Set<String> knownOperationNames, int maximumUnknownOperationNames) {
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        this.knownOperationNames = Set.copyOf(knownOperationNames);
+        this.maximumUnknownOperationNames = maximumUnknownOperationNames;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters) {
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+
+        OperationDefinition operationDefinition = parameters.getExecutionContext().getOperationDefinition();
+        String operation = operationDefinition.getOperation().name().toLowerCase(Locale.ENGLISH);
+        String name = Optional.ofNullable(operationDefinition.getName()).map(this::getNameTag).orElse(ANONYMOUS);
+
+        return SimpleInstrumentationContext.whenCompleted((executionResult, throwable) -> {
+            String outcome = SUCCESS;
+            if (throwable != null || (executionResult != null && !executionResult.getErrors().isEmpty())) {
+                outcome = ERROR;
+            }
+
+            // @formatter:off
+            Timer timer = Timer.builder(TIMER_NAME)
+                    .tag(OPERATION, operation)
+                    .tag(NAME, name)
+                    .tag(OUTCOME, outcome)
+                    .register(this.meterRegistry);
+            // @formatter:on
+            sample.stop(timer);
+        });
+    }
+
+    /**
+     * Returns the value of the tag used for the operation with the given name. The unknown operations keep their name
+     * until the maximum number of unknown operations has been reached.
+     */
+    String getNameTag(String operationName) {
+        if (this.knownOperationNames.contains(operationName) || this.unknownOperationNames.contains(operationName)) {
+            return operationName;
+        }
+        synchronized (this.unknownOperationNames) {
+            if (this.unknownOperationNames.size() < this.maximumUnknownOperationNames) {
+                this.unknownOperationNames.add(operationName);
+                return operationName;
+            }
+        }
+        return OTHER;
+    }
+}
@@ -12,7 +12,15 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.sample.configuration;
 
+import javax.persistence.EntityManagerFactory;
+
+import org.eclipse.sirius.web.sample.services.AccountChangedEventPublisher;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
@@ -26,4 +34,15 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @EnableJpaRepositories(basePackages = { "org.eclipse.sirius.web.persistence.repositories" }, namedQueriesLocation = "classpath:db/sirius-web-named-queries.properties")
 public class JPAConfiguration {
 
+    @Bean
+    public AccountChangedEventPublisher accountChangedEventPublisher(EntityManagerFactory entityManagerFactory, ApplicationEventPublisher applicationEventPublisher) {
+        AccountChangedEventPublisher accountChangedEventPublisher = new AccountChangedEventPublisher(applicationEventPublisher);
+
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry eventListenerRegistry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        eventListenerRegistry.appendListeners(EventType.POST_COMMIT_UPDATE, accountChangedEventPublisher);
+        eventListenerRegistry.appendListeners(EventType.POST_COMMIT_DELETE, accountChangedEventPublisher);
+
+        return accountChangedEventPublisher;
+    }
 }
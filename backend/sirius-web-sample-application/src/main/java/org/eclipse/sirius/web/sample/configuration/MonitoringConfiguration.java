@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2021 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -15,18 +15,45 @@ package org.eclipse.sirius.web.sample.configuration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 
 /**
  * Configuration of the monitoring support for Sirius Web.
+ * <p>
+ * The meter registries are created by Spring Boot Actuator according to the properties
+ * <code>management.metrics.export.*</code>, with an in-memory registry if no exporter is enabled.
+ * </p>
  *
  * @author hmarchadour
  */
 @Configuration
 public class MonitoringConfiguration {
+
+    private static final String SIRIUS_WEB_METER_PREFIX = "siriusweb_"; //$NON-NLS-1$
+
+    private static final double[] PERCENTILES = { 0.5, 0.95, 0.99 };
+
+    /**
+     * Publishes the percentiles histograms of all the timers of Sirius Web.
+     */
     @Bean
-    public MeterRegistry meterRegistry() {
-        return new SimpleMeterRegistry();
+    public MeterFilter siriusWebDistributionMeterFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() == Meter.Type.TIMER && id.getName().startsWith(SIRIUS_WEB_METER_PREFIX)) {
+                    // @formatter:off
+                    return DistributionStatisticConfig.builder()
+                            .percentilesHistogram(true)
+                            .percentiles(PERCENTILES)
+                            .build()
+                            .merge(config);
+                    // @formatter:on
+                }
+                return config;
+            }
+        };
     }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2021 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -14,13 +14,16 @@ package org.eclipse.sirius.web.sample.configuration;
 
 import org.eclipse.emf.common.notify.AdapterFactory;
 import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.xmi.XMLParserPool;
 import org.eclipse.sirius.web.emf.services.ILabelFeatureProvider;
 import org.eclipse.sirius.web.emf.services.LabelFeatureProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import fr.obeo.dsl.designer.sample.flow.FlowPackage;
 import fr.obeo.dsl.designer.sample.flow.provider.FlowItemProviderAdapterFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Configuration of the EMF support for Sirius Web.
@@ -39,9 +42,29 @@ public class SampleEMFConfiguration {
 		return FlowPackage.eINSTANCE;
 	}
 
+	/**
+	 * The label feature provider is called for each element on each refresh, the result of its switches is thus kept
+	 * for each EClass.
+	 */
 	@Bean
 	public ILabelFeatureProvider flowLabelFeatureProvider() {
-		return new LabelFeatureProvider(FlowPackage.eINSTANCE.getNsURI(), new FlowLabelFeatureSwitch(),
-				new FlowEditableSwitch());
+		return new LabelFeatureProvider(FlowPackage.eINSTANCE.getNsURI(),
+				new EClassMemoizingSwitch<>(new FlowLabelFeatureSwitch(), FlowPackage.eINSTANCE),
+				new EClassMemoizingSwitch<>(new FlowEditableSwitch(), FlowPackage.eINSTANCE));
+	}
+
+	/**
+	 * The parser pool shared by the XMI loads, with one stripe per processor by default so that concurrent loads do
+	 * not wait for each other.
+	 */
+	@Bean
+	public XMLParserPool xmlParserPool(MeterRegistry meterRegistry,
+			@Value("${sirius.web.xml.parser.pool.stripes:0}") int stripeCount,
+			@Value("${sirius.web.xml.parser.pool.stripe.size:16}") int stripeSize) {
+		int actualStripeCount = stripeCount;
+		if (actualStripeCount <= 0) {
+			actualStripeCount = Runtime.getRuntime().availableProcessors();
+		}
+		return new StripedXMLParserPool(actualStripeCount, stripeSize, meterRegistry);
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2021 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -13,19 +13,27 @@
 package org.eclipse.sirius.web.sample.configuration;
 
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.sirius.web.spring.configuration.SiriusWebPathResourceResolver;
 import org.eclipse.sirius.web.spring.configuration.SpringWebMvcConfigurerConstants;
 import org.eclipse.sirius.web.spring.controllers.URLConstants;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
 
 /**
  * Used to configure the server side routing.
+ * <p>
+ * The static assets are served with their precompressed variants (<code>.br</code> or <code>.gz</code>) when they
+ * have been produced by the build of the frontend and when the browser accepts them. Only the bundles and the
+ * stylesheets of the frontend, whose name contains a hash of their content, can be cached without revalidation.
+ * </p>
  *
  * @author sbegaudeau
  */
@@ -33,6 +41,10 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class SpringWebMvcConfigurer implements WebMvcConfigurer {
     private static final String[] ALLOWED_ORIGIN_PATTERNS = { "http://localhost:3000" }; //$NON-NLS-1$
 
+    private static final String[] IMMUTABLE_ASSETS_DIRECTORIES = { "static/js/", "static/css/" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+    private static final long IMMUTABLE_ASSETS_MAX_AGE_IN_DAYS = 365;
+
     /**
      * The Spring environment.
      */
@@ -46,18 +58,31 @@ public class SpringWebMvcConfigurer implements WebMvcConfigurer {
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // @formatter:off
 
-        // Make sure that all static assets are redirected properly to the proper path
+        // The name of the bundles and stylesheets built by the frontend contains a hash of their content, they can thus be cached forever
+        CacheControl immutableCacheControl = new ImmutableCacheControl(CacheControl.maxAge(IMMUTABLE_ASSETS_MAX_AGE_IN_DAYS, TimeUnit.DAYS).cachePublic());
+        for (String directory : IMMUTABLE_ASSETS_DIRECTORIES) {
+            registry.addResourceHandler("/" + directory + "**") //$NON-NLS-1$ //$NON-NLS-2$
+            .addResourceLocations(SpringWebMvcConfigurerConstants.STATIC_ASSETS_PATH + directory)
+            .setCacheControl(immutableCacheControl)
+            .resourceChain(true)
+            .addResolver(new EncodedResourceResolver());
+        }
+
+        // The other static assets, including those of the other frontends, must be revalidated before being reused
         registry.addResourceHandler(
             SpringWebMvcConfigurerConstants.CSS_PATTERN,
-            SpringWebMvcConfigurerConstants.HTML_PATTERN,
             SpringWebMvcConfigurerConstants.JS_PATTERN,
             SpringWebMvcConfigurerConstants.JS_CHUNK_PATTERN,
             SpringWebMvcConfigurerConstants.JS_MAP_PATTERN,
-            SpringWebMvcConfigurerConstants.JSON_PATTERN,
-            SpringWebMvcConfigurerConstants.ICO_PATTERN,
             SpringWebMvcConfigurerConstants.TTF_PATTERN,
-            SpringWebMvcConfigurerConstants.MEDIA_PATTERN
-        ).addResourceLocations(SpringWebMvcConfigurerConstants.STATIC_ASSETS_PATH);
+            SpringWebMvcConfigurerConstants.MEDIA_PATTERN,
+            SpringWebMvcConfigurerConstants.HTML_PATTERN,
+            SpringWebMvcConfigurerConstants.JSON_PATTERN,
+            SpringWebMvcConfigurerConstants.ICO_PATTERN
+        ).addResourceLocations(SpringWebMvcConfigurerConstants.STATIC_ASSETS_PATH)
+        .setCacheControl(CacheControl.noCache())
+        .resourceChain(true)
+        .addResolver(new EncodedResourceResolver());
 
         // Make sure that all other requests are redirected to index.html, the React router will handle it
         registry.addResourceHandler(
@@ -65,7 +90,9 @@ public class SpringWebMvcConfigurer implements WebMvcConfigurer {
             SpringWebMvcConfigurerConstants.HOMEPAGE_PATTERN,
             SpringWebMvcConfigurerConstants.ANY_PATTERN
         ).addResourceLocations(SpringWebMvcConfigurerConstants.INDEX_HTML_PATH)
+        .setCacheControl(CacheControl.noCache())
         .resourceChain(true)
+        .addResolver(new EncodedResourceResolver())
         .addResolver(new SiriusWebPathResourceResolver(URLConstants.API_BASE_PATH));
 
         // @formatter:on
@@ -84,4 +111,26 @@ public class SpringWebMvcConfigurer implements WebMvcConfigurer {
             registry.addMapping(URLConstants.API_BASE_PATH + SpringWebMvcConfigurerConstants.ANY_PATTERN).allowedOriginPatterns(ALLOWED_ORIGIN_PATTERNS).allowCredentials(true);
         }
     }
+
+    /**
+     * The cache control of the assets which never change, with the <code>immutable</code> directive unknown to Spring
+     * 5.3 so that the browsers do not revalidate them on reload.
+     *
+     * @author sbegaudeau
+     */
+    private static final class ImmutableCacheControl extends CacheControl {
+
+        private static final String IMMUTABLE_DIRECTIVE = ", immutable"; //$NON-NLS-1$
+
+        private final String headerValue;
+
+        ImmutableCacheControl(CacheControl cacheControl) {
+            this.headerValue = cacheControl.getHeaderValue() + IMMUTABLE_DIRECTIVE;
+        }
+
+        @Override
+        public String getHeaderValue() {
+            return this.headerValue;
+        }
+    }
 }
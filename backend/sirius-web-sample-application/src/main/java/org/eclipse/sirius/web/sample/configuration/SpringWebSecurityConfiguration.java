@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2021 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,21 +12,23 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.sample.configuration;
 
-import java.text.MessageFormat;
-import java.util.List;
+import java.time.Duration;
 import java.util.Objects;
 
-import org.eclipse.sirius.web.persistence.repositories.IAccountRepository;
+import org.eclipse.sirius.web.sample.services.AccountUserDetailsService;
+import org.eclipse.sirius.web.sample.services.CachingAuthenticationProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Security configuration of Sirius Web.
  *
@@ -36,10 +38,20 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 @EnableWebSecurity
 public class SpringWebSecurityConfiguration extends WebSecurityConfigurerAdapter {
 
-    private final IAccountRepository accountRepository;
+    private final AccountUserDetailsService accountUserDetailsService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration authenticationCacheTimeToLive;
+
+    private final long authenticationCacheMaximumSize;
 
-    public SpringWebSecurityConfiguration(IAccountRepository accountRepository) {
-        this.accountRepository = Objects.requireNonNull(accountRepository);
+    public SpringWebSecurityConfiguration(AccountUserDetailsService accountUserDetailsService, MeterRegistry meterRegistry, @Value("${sirius.web.security.authentication.cache.ttl:300}") long authenticationCacheTimeToLive,
+            @Value("${sirius.web.security.authentication.cache.max.size:1000}") long authenticationCacheMaximumSize) {
+        this.accountUserDetailsService = Objects.requireNonNull(accountUserDetailsService);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        this.authenticationCacheTimeToLive = Duration.ofSeconds(authenticationCacheTimeToLive);
+        this.authenticationCacheMaximumSize = authenticationCacheMaximumSize;
     }
 
     @Override
@@ -54,13 +66,15 @@ public class SpringWebSecurityConfiguration extends WebSecurityConfigurerAdapter
 
     @Override
     protected void configure(AuthenticationManagerBuilder auth) throws Exception {
-        UserDetailsService accountBasedUserDetailsService = username -> {
-            // @formatter:off
-            return this.accountRepository.findByUsername(username)
-                       .map(account -> new User(account.getUsername(), account.getPassword(), List.of()))
-                       .orElseThrow(() -> new UsernameNotFoundException(MessageFormat.format("User ''{0}'' not found", username))); //$NON-NLS-1$
-            // @formatter:on
-        };
-        auth.userDetailsService(accountBasedUserDetailsService).passwordEncoder(new BCryptPasswordEncoder());
+        auth.authenticationProvider(this.cachingAuthenticationProvider());
+    }
+
+    @Bean
+    public CachingAuthenticationProvider cachingAuthenticationProvider() {
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setUserDetailsService(this.accountUserDetailsService);
+        authenticationProvider.setPasswordEncoder(new BCryptPasswordEncoder());
+
+        return new CachingAuthenticationProvider(authenticationProvider, this.meterRegistry, this.authenticationCacheTimeToLive, this.authenticationCacheMaximumSize);
     }
 }
@@ -14,13 +14,14 @@ package org.eclipse.sirius.web.sample.configuration;
 
 import fr.obeo.dsl.designer.sample.flow.FlowFactory;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.emf.common.util.URI;
@@ -28,21 +29,26 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.xmi.XMLParserPool;
 import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
-import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
 import org.eclipse.sirius.emfjson.resource.JsonResource;
 import org.eclipse.sirius.web.api.configuration.IStereotypeDescriptionRegistry;
 import org.eclipse.sirius.web.api.configuration.IStereotypeDescriptionRegistryConfigurer;
 import org.eclipse.sirius.web.api.configuration.StereotypeDescription;
 import org.eclipse.sirius.web.emf.services.SiriusWebJSONResourceFactoryImpl;
 import org.eclipse.sirius.web.emf.utils.EMFResourceUtils;
+import org.eclipse.sirius.web.sample.services.IStereotypeContentWriter;
+import org.eclipse.sirius.web.sample.services.StereotypeContentCache;
+import org.eclipse.sirius.web.sample.services.StereotypeContentStore;
 import org.obeonetwork.dsl.bpmn2.Bpmn2Factory;
 import org.obeonetwork.dsl.bpmn2.Lane;
 import org.obeonetwork.dsl.bpmn2.LaneSet;
 import org.obeonetwork.dsl.bpmn2.Process;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.AbstractResource;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -67,38 +73,86 @@ public class StereotypeDescriptionRegistryConfigurer implements IStereotypeDescr
 
     public static final String BIG_GUY_FLOW_LABEL = "Big Guy Flow (17k elements)"; //$NON-NLS-1$
 
-    private static final String TIMER_NAME = "siriusweb_stereotype_load"; //$NON-NLS-1$
+    public static final UUID GENERATED_FLOW_ID = UUID.nameUUIDFromBytes("generated_flow".getBytes()); //$NON-NLS-1$
 
-    private static XMLParserPool parserPool = new XMLParserPoolImpl();
+    public static final String GENERATED_FLOW_LABEL = "Generated Flow model"; //$NON-NLS-1$
 
-    private final Logger logger = LoggerFactory.getLogger(StereotypeDescriptionRegistryConfigurer.class);
+    private static final String TIMER_NAME = "siriusweb_stereotype_load"; //$NON-NLS-1$
 
     private final Timer timer;
 
-    public StereotypeDescriptionRegistryConfigurer(MeterRegistry meterRegistry) {
+    private final StereotypeContentCache stereotypeContentCache;
+
+    private final StereotypeContentStore stereotypeContentStore;
+
+    private final XMLParserPool parserPool;
+
+    private final boolean warmUpEnabled;
+
+    private final String generatedFlowPath;
+
+    public StereotypeDescriptionRegistryConfigurer(MeterRegistry meterRegistry, StereotypeContentCache stereotypeContentCache, StereotypeContentStore stereotypeContentStore, XMLParserPool parserPool,
+            @Value("${sirius.web.stereotypes.cache.warmup:false}") boolean warmUpEnabled, @Value("${sirius.web.stereotypes.generated.flow.path:}") String generatedFlowPath) {
         this.timer = Timer.builder(TIMER_NAME).register(meterRegistry);
+        this.stereotypeContentCache = Objects.requireNonNull(stereotypeContentCache);
+        this.stereotypeContentStore = Objects.requireNonNull(stereotypeContentStore);
+        this.parserPool = Objects.requireNonNull(parserPool);
+        this.warmUpEnabled = warmUpEnabled;
+        this.generatedFlowPath = Objects.requireNonNull(generatedFlowPath);
     }
 
     @Override
     public void addStereotypeDescriptions(IStereotypeDescriptionRegistry registry) {
-        registry.add(new StereotypeDescription(EMPTY_FLOW_ID, EMPTY_FLOW_LABEL, this::getEmptyFlowContent));
-        registry.add(new StereotypeDescription(ROBOT_FLOW_ID, ROBOT_FLOW_LABEL, this::getRobotFlowContent));
-        registry.add(new StereotypeDescription(BIG_GUY_FLOW_ID, BIG_GUY_FLOW_LABEL, this::getBigGuyFlowContent));
+        registry.add(new StereotypeDescription(EMPTY_FLOW_ID, EMPTY_FLOW_LABEL, () -> this.stereotypeContentCache.getContent(EMPTY_FLOW_ID, this::writeEmptyFlowContent)));
+        registry.add(new StereotypeDescription(ROBOT_FLOW_ID, ROBOT_FLOW_LABEL, () -> this.stereotypeContentCache.getContent(ROBOT_FLOW_ID, this::writeRobotFlowContent)));
+        registry.add(new StereotypeDescription(BIG_GUY_FLOW_ID, BIG_GUY_FLOW_LABEL, () -> this.stereotypeContentCache.getContent(BIG_GUY_FLOW_ID, this::writeBigGuyFlowContent)));
+
+        // Models created by the FlowModelGenerator of the benchmarks can be used to test the behavior with very large models
+        if (!this.generatedFlowPath.isBlank()) {
+            registry.add(new StereotypeDescription(GENERATED_FLOW_ID, GENERATED_FLOW_LABEL, () -> this.stereotypeContentCache.getContent(GENERATED_FLOW_ID, this::writeGeneratedFlowContent)));
+        }
     }
 
-    private String getEmptyFlowContent() {
-        return this.getEmptyContent(FlowFactory.eINSTANCE.createSystem());
+    /**
+     * Converts the biggest stereotypes in parallel once the application is ready so that the first project creations do
+     * not have to pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (this.warmUpEnabled) {
+            Map<UUID, IStereotypeContentWriter> contentWriters = new HashMap<>();
+            contentWriters.put(ROBOT_FLOW_ID, this::writeRobotFlowContent);
+            contentWriters.put(BIG_GUY_FLOW_ID, this::writeBigGuyFlowContent);
+            if (!this.generatedFlowPath.isBlank()) {
+                contentWriters.put(GENERATED_FLOW_ID, this::writeGeneratedFlowContent);
+            }
+
+            // @formatter:off
+            CompletableFuture<?>[] futures = contentWriters.entrySet().stream()
+                    .map(entry -> CompletableFuture.runAsync(() -> this.stereotypeContentCache.getContent(entry.getKey(), entry.getValue())))
+                    .toArray(CompletableFuture[]::new);
+            // @formatter:on
+            CompletableFuture.allOf(futures).join();
+        }
     }
 
-    private String getRobotFlowContent() {
-        return this.getContent(new ClassPathResource("robot.flow")); //$NON-NLS-1$
+    private void writeEmptyFlowContent(OutputStream outputStream) throws IOException {
+        this.writeEmptyContent(FlowFactory.eINSTANCE.createSystem(), outputStream);
     }
 
-    private String getBigGuyFlowContent() {
-        return this.getContent(new ClassPathResource("Big_Guy.flow")); //$NON-NLS-1$
+    private void writeRobotFlowContent(OutputStream outputStream) throws IOException {
+        this.writeContent(new ClassPathResource("robot.flow"), outputStream); //$NON-NLS-1$
     }
 
-    private String getEmptyBPMNContent() {
+    private void writeBigGuyFlowContent(OutputStream outputStream) throws IOException {
+        this.writeContent(new ClassPathResource("Big_Guy.flow"), outputStream); //$NON-NLS-1$
+    }
+
+    private void writeGeneratedFlowContent(OutputStream outputStream) throws IOException {
+        this.writeContent(new FileSystemResource(this.generatedFlowPath), outputStream);
+    }
+
+    private void writeEmptyBPMNContent(OutputStream outputStream) throws IOException {
         Process process = Bpmn2Factory.eINSTANCE.createProcess();
         LaneSet laneSet = Bpmn2Factory.eINSTANCE.createLaneSet();
         laneSet.setName("Lane set"); //$NON-NLS-1$
@@ -106,69 +160,58 @@ public class StereotypeDescriptionRegistryConfigurer implements IStereotypeDescr
         Lane lane = Bpmn2Factory.eINSTANCE.createLane();
         lane.setName("Lane"); //$NON-NLS-1$
         laneSet.getLanes().add(lane);
-        return this.getEmptyContent(process);
+        this.writeEmptyContent(process, outputStream);
     }
 
-    private String getNobelBPMNContent() {
-        return this.getContent(new ClassPathResource("definitions.bpmn")); //$NON-NLS-1$
+    private void writeNobelBPMNContent(OutputStream outputStream) throws IOException {
+        this.writeContent(new ClassPathResource("definitions.bpmn"), outputStream); //$NON-NLS-1$
     }
 
-    private String getEmptyContent(EObject rootEObject) {
+    private void writeEmptyContent(EObject rootEObject, OutputStream outputStream) throws IOException {
         JsonResource resource = new SiriusWebJSONResourceFactoryImpl().createResource(URI.createURI("inmemory")); //$NON-NLS-1$
         resource.getContents().add(rootEObject);
 
-        String content = ""; //$NON-NLS-1$
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            Map<String, Object> options = new HashMap<>();
-            options.put(JsonResource.OPTION_ENCODING, JsonResource.ENCODING_UTF_8);
-            options.put(JsonResource.OPTION_SCHEMA_LOCATION, Boolean.TRUE);
-
-            resource.save(outputStream, options);
+        Map<String, Object> options = new HashMap<>();
+        options.put(JsonResource.OPTION_ENCODING, JsonResource.ENCODING_UTF_8);
+        options.put(JsonResource.OPTION_SCHEMA_LOCATION, Boolean.TRUE);
 
-            content = outputStream.toString();
-        } catch (IOException exception) {
-            this.logger.error(exception.getMessage(), exception);
-        }
-        return content;
+        resource.save(outputStream, options);
     }
 
-    private String getContent(ClassPathResource classPathResource) {
+    /**
+     * Converts the given XMI resource to JSON directly in the given stream, unless its converted content has already been
+     * stored. No reference to the EMF resources is kept once the conversion is done so that the model can be reclaimed
+     * before the content is consumed.
+     */
+    private void writeContent(AbstractResource modelResource, OutputStream outputStream) throws IOException {
         long start = System.currentTimeMillis();
 
-        String content = ""; //$NON-NLS-1$
-        try (var inputStream = classPathResource.getInputStream()) {
-            URI uri = URI.createURI(classPathResource.getFilename());
-            Resource inputResource = this.loadFromXMI(uri, inputStream);
-            content = this.saveAsJSON(uri, inputResource);
-        } catch (IOException exception) {
-            this.logger.error(exception.getMessage(), exception);
+        try (var inputStream = modelResource.getInputStream()) {
+            URI uri = URI.createURI(modelResource.getFilename());
+            this.stereotypeContentStore.write(inputStream, outputStream, (sourceInputStream, targetOutputStream) -> {
+                Resource inputResource = this.loadFromXMI(uri, sourceInputStream);
+                this.saveAsJSON(uri, inputResource, targetOutputStream);
+            });
+        } finally {
+            long end = System.currentTimeMillis();
+            this.timer.record(end - start, TimeUnit.MILLISECONDS);
         }
-
-        long end = System.currentTimeMillis();
-        this.timer.record(end - start, TimeUnit.MILLISECONDS);
-
-        return content;
     }
 
     private Resource loadFromXMI(URI uri, InputStream inputStream) throws IOException {
         Resource inputResource = new XMIResourceImpl(uri);
-        Map<String, Object> xmiLoadOptions = new EMFResourceUtils().getFastXMILoadOptions(parserPool);
+        Map<String, Object> xmiLoadOptions = new EMFResourceUtils().getFastXMILoadOptions(this.parserPool);
         inputResource.load(inputStream, xmiLoadOptions);
         return inputResource;
     }
 
-    private String saveAsJSON(URI uri, Resource inputResource) throws IOException {
-        String content;
+    private void saveAsJSON(URI uri, Resource inputResource, OutputStream outputStream) throws IOException {
         JsonResource ouputResource = new SiriusWebJSONResourceFactoryImpl().createResource(uri);
         ouputResource.getContents().addAll(inputResource.getContents());
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            Map<String, Object> jsonSaveOptions = new EMFResourceUtils().getFastJSONSaveOptions();
-            jsonSaveOptions.put(JsonResource.OPTION_ENCODING, JsonResource.ENCODING_UTF_8);
-            jsonSaveOptions.put(JsonResource.OPTION_SCHEMA_LOCATION, Boolean.TRUE);
-            ouputResource.save(outputStream, jsonSaveOptions);
-            content = outputStream.toString(StandardCharsets.UTF_8);
-        }
-        return content;
+        Map<String, Object> jsonSaveOptions = new EMFResourceUtils().getFastJSONSaveOptions();
+        jsonSaveOptions.put(JsonResource.OPTION_ENCODING, JsonResource.ENCODING_UTF_8);
+        jsonSaveOptions.put(JsonResource.OPTION_SCHEMA_LOCATION, Boolean.TRUE);
+        ouputResource.save(outputStream, jsonSaveOptions);
     }
 
 }
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.configuration;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+
+import org.eclipse.emf.ecore.xmi.XMLDefaultHandler;
+import org.eclipse.emf.ecore.xmi.XMLHelper;
+import org.eclipse.emf.ecore.xmi.XMLLoad;
+import org.eclipse.emf.ecore.xmi.XMLParserPool;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+import org.xml.sax.SAXException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link XMLParserPool} split in several stripes in order to let concurrent XMI loads use their own parsers instead of
+ * waiting for the lock of a single pool.
+ * <p>
+ * Each thread always uses the same stripe, so a parser is released in the stripe it comes from. Each stripe keeps a
+ * bounded number of parsers for each configuration of features and properties. The time spent to retrieve a parser,
+ * including the wait for the lock of its stripe, is recorded.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+class StripedXMLParserPool implements XMLParserPool {
+
+    private static final String TIMER_NAME = "siriusweb_xml_parser_pool_wait"; //$NON-NLS-1$
+
+    private final XMLParserPool[] stripes;
+
+    private final Timer timer;
+
+    StripedXMLParserPool(int stripeCount, int stripeSize, MeterRegistry meterRegistry) {
+        this.stripes = new XMLParserPool[Math.max(1, stripeCount)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new XMLParserPoolImpl(stripeSize, false);
+        }
+        this.timer = Timer.builder(TIMER_NAME).register(meterRegistry);
+    }
+
+    private XMLParserPool getStripe() {
+        return this.stripes[(int) (Thread.currentThread().getId() % this.stripes.length)];
+    }
+
+    @Override
+    public SAXParser get(Map<String, Boolean> features, Map<String, ?> properties, boolean useLexicalHandler) throws ParserConfigurationException, SAXException {
+        long start = System.nanoTime();
+        try {
+            return this.getStripe().get(features, properties, useLexicalHandler);
+        } finally {
+            this.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void release(SAXParser parser, Map<String, Boolean> features, Map<String, ?> properties, boolean useLexicalHandler) {
+        this.getStripe().release(parser, features, properties, useLexicalHandler);
+    }
+
+    @Override
+    public XMLDefaultHandler getDefaultHandler(XMLResource resource, XMLLoad xmlLoad, XMLHelper helper, Map<?, ?> options) {
+        return this.getStripe().getDefaultHandler(resource, xmlLoad, helper, options);
+    }
+
+    @Override
+    public void releaseDefaultHandler(XMLDefaultHandler handler, Map<?, ?> options) {
+        this.getStripe().releaseDefaultHandler(handler, options);
+    }
+
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.configuration;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.reactivestreams.Publisher;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import reactor.core.publisher.Flux;
+
+/**
+ * Instrumentation used to coalesce the events of the subscriptions sent in bursts.
+ * <p>
+ * Each refresh of a representation sends its whole content. The consecutive refreshes of a subscription are sampled
+ * with the given window, only the last one received during each window is sent to the client, so the serialization and
+ * the transfer of the intermediate contents are skipped. The other events are sent as soon as they are received, after
+ * the pending refresh if any, in order to keep the order of the events. The refreshes still send the whole content of
+ * the representations, sending differences would require changes in the representation event processors and in the
+ * frontend components of sirius-components.
+ * </p>
+ * <p>
+ * The refreshes are coalesced per subscription and not per representation: each client subscribed to the same
+ * representation has its own window, and the representation is still serialized once for each of them.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+class SubscriptionCoalescingInstrumentation extends SimpleInstrumentation {
+
+    private static final String TYPENAME = "__typename"; //$NON-NLS-1$
+
+    private final Duration window;
+
+    private final Set<String> coalescedTypenames;
+
+    SubscriptionCoalescingInstrumentation(Duration window, Set<String> coalescedTypenames) {
+        this.window = Objects.requireNonNull(window);
+        this.coalescedTypenames = Objects.requireNonNull(coalescedTypenames);
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters) {
+        if (executionResult.getData() instanceof Publisher<?>) {
+            Publisher<ExecutionResult> publisher = executionResult.getData();
+            // @formatter:off
+            Flux<ExecutionResult> coalescedPublisher = Flux.from(publisher)
+                    .windowUntilChanged(this::isRefresh)
+                    .concatMap(events -> events.switchOnFirst((signal, sameKindEvents) -> {
+                        if (signal.hasValue() && this.isRefresh(signal.get())) {
+                            return sameKindEvents.sample(this.window);
+                        }
+                        return sameKindEvents;
+                    }));
+
+            ExecutionResult coalescedExecutionResult = ExecutionResultImpl.newExecutionResult()
+                    .from(executionResult)
+                    .data(coalescedPublisher)
+                    .build();
+            // @formatter:on
+            return CompletableFuture.completedFuture(coalescedExecutionResult);
+        }
+        return CompletableFuture.completedFuture(executionResult);
+    }
+
+    /**
+     * Indicates if the given event contains the whole content of a representation, which supersedes the previous ones.
+     * It can only be known if the client has requested the type of the payload.
+     */
+    private boolean isRefresh(ExecutionResult executionResult) {
+        Object data = executionResult.getData();
+        if (executionResult.getErrors().isEmpty() && data instanceof Map<?, ?>) {
+            for (Object payload : ((Map<?, ?>) data).values()) {
+                if (payload instanceof Map<?, ?> && this.coalescedTypenames.contains(((Map<?, ?>) payload).get(TYPENAME))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration of the execution of the requests on virtual threads, enabled with
+ * <code>sirius.web.threads.virtual.enabled=true</code>.
+ * <p>
+ * The HTTP requests and the messages of the websockets, and thus the GraphQL data fetchers and the subscriptions which
+ * they start, are processed by Tomcat on a new virtual thread each. The database is protected by a limit on the number
+ * of connections used at the same time. Virtual threads require Java 21 or later, the application fails to start with
+ * older versions of Java when they are enabled.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Configuration
+@ConditionalOnProperty(name = "sirius.web.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    private static final String NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = "newVirtualThreadPerTaskExecutor"; //$NON-NLS-1$
+
+    private static final String AVAILABLE_CONNECTIONS_GAUGE_NAME = "siriusweb_database_connections_available"; //$NON-NLS-1$
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executorService = newVirtualThreadPerTaskExecutor();
+        return protocolHandler -> protocolHandler.setExecutor(executorService);
+    }
+
+    /**
+     * Returns an executor creating a new virtual thread for each task. It is retrieved reflectively since the
+     * application is compiled for Java 11.
+     *
+     * @return The executor
+     * @throws IllegalStateException
+     *             If virtual threads are not available with the current version of Java
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod(NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR).invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException exception) {
+            String message = String.format("sirius.web.threads.virtual.enabled requires Java 21 or later, the current version is %s", Runtime.version()); //$NON-NLS-1$
+            throw new IllegalStateException(message, exception);
+        }
+    }
+
+    /**
+     * Limits the number of database connections used at the same time.
+     * <p>
+     * This post processor is declared as static in order to be registered before the creation of the other beans.
+     * </p>
+     */
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourceBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistryProvider,
+            @Value("${sirius.web.threads.virtual.database.max.concurrent:10}") int maxConcurrentConnections,
+            @Value("${sirius.web.threads.virtual.database.max.wait:30}") long maxWaitInSeconds) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ConcurrencyLimitingDataSource)) {
+                    ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource((DataSource) bean, maxConcurrentConnections, Duration.ofSeconds(maxWaitInSeconds));
+                    meterRegistryProvider.getObject().gauge(AVAILABLE_CONNECTIONS_GAUGE_NAME, dataSource, ConcurrencyLimitingDataSource::getAvailablePermits);
+                    return dataSource;
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.filters;
+
+/**
+ * Utility methods used to look for values in the bodies of the requests without parsing them.
+ *
+ * @author agent
+ */
+final class ByteArrays {
+
+    private ByteArrays() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Indicates if the given array contains the given value.
+     *
+     * @param array
+     *            An array
+     * @param value
+     *            The value to look for
+     * @return <code>true</code> if the value is found
+     */
+    static boolean contains(byte[] array, byte[] value) {
+        for (int i = 0; i <= array.length - value.length; i++) {
+            int j = 0;
+            while (j < value.length && array[i + j] == value[j]) {
+                j++;
+            }
+            if (j == value.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
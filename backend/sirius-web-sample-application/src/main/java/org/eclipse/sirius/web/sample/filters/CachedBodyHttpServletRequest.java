@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.filters;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * Request giving a body which has already been read.
+ *
+ * @author sbegaudeau
+ */
+class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+
+    /**
+     * The attribute of the request holding the body parsed as JSON by a filter, to be reused by the following ones.
+     */
+    static final String PAYLOAD_ATTRIBUTE = CachedBodyHttpServletRequest.class.getName() + ".payload"; //$NON-NLS-1$
+
+    private final byte[] body;
+
+    CachedBodyHttpServletRequest(HttpServletRequest request, byte[] body) {
+        super(request);
+        this.body = Objects.requireNonNull(body);
+    }
+
+    @Override
+    public int getContentLength() {
+        return this.body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return this.body.length;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(this.body);
+        return new ServletInputStream() {
+            @Override
+            public int read() {
+                return inputStream.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                return inputStream.read(buffer, offset, length);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return inputStream.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            /**
+             * The body is already in memory, the listener is thus notified right away that it can be read entirely.
+             */
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                try {
+                    if (!this.isFinished()) {
+                        readListener.onDataAvailable();
+                    }
+                    if (this.isFinished()) {
+                        readListener.onAllDataRead();
+                    }
+                } catch (IOException exception) {
+                    readListener.onError(exception);
+                }
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(this.getInputStream(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.filters;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.sirius.web.sample.services.PersistedQueryRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Filter used to support the automatic persisted queries of the Apollo client.
+ * <p>
+ * The client sends the SHA-256 hash of the query in <code>extensions.persistedQuery.sha256Hash</code> without the query
+ * itself. If the query is known, it is put back in the payload before being given to the GraphQL endpoint. Otherwise,
+ * the error <code>PersistedQueryNotFound</code> is returned and the client sends the query again along with its hash in
+ * order to register it.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Component
+public class PersistedQueryFilter extends OncePerRequestFilter {
+
+    private static final String GRAPHQL_PATH = "/api/graphql"; //$NON-NLS-1$
+
+    private static final String QUERY = "query"; //$NON-NLS-1$
+
+    private static final String EXTENSIONS = "extensions"; //$NON-NLS-1$
+
+    private static final String PERSISTED_QUERY = "persistedQuery"; //$NON-NLS-1$
+
+    private static final String SHA256_HASH = "sha256Hash"; //$NON-NLS-1$
+
+    private static final String PERSISTED_QUERY_NOT_FOUND_RESPONSE = "{\"errors\":[{\"message\":\"PersistedQueryNotFound\",\"extensions\":{\"code\":\"PERSISTED_QUERY_NOT_FOUND\"}}]}"; //$NON-NLS-1$
+
+    private static final byte[] PERSISTED_QUERY_BYTES = PERSISTED_QUERY.getBytes(StandardCharsets.US_ASCII);
+
+    private final PersistedQueryRegistry persistedQueryRegistry;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maximumRequestSize;
+
+    public PersistedQueryFilter(PersistedQueryRegistry persistedQueryRegistry, ObjectMapper objectMapper,
+            @Value("${sirius.web.graphql.persisted.queries.max.request.size:1048576}") int maximumRequestSize) {
+        this.persistedQueryRegistry = Objects.requireNonNull(persistedQueryRegistry);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.maximumRequestSize = maximumRequestSize;
+    }
+
+    /**
+     * Only the GraphQL requests with a known size are buffered, the bigger ones and the ones sent in chunks are left to
+     * the GraphQL endpoint untouched.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        long contentLength = request.getContentLengthLong();
+        boolean hasSupportedSize = contentLength >= 0 && contentLength <= this.maximumRequestSize;
+        return !HttpMethod.POST.matches(request.getMethod()) || !GRAPHQL_PATH.equals(request.getServletPath()) || !hasSupportedSize;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        byte[] body = request.getInputStream().readNBytes(request.getContentLength());
+
+        // Most requests do not use the extension, they are not parsed twice
+        if (!ByteArrays.contains(body, PERSISTED_QUERY_BYTES)) {
+            filterChain.doFilter(new CachedBodyHttpServletRequest(request, body), response);
+            return;
+        }
+
+        JsonNode payload = this.readPayload(request, body);
+        Optional<String> optionalHash = this.getHash(payload);
+        if (optionalHash.isEmpty()) {
+            filterChain.doFilter(new CachedBodyHttpServletRequest(request, body), response);
+            return;
+        }
+
+        String hash = optionalHash.get();
+        ObjectNode objectPayload = (ObjectNode) payload;
+        JsonNode queryNode = objectPayload.get(QUERY);
+        if (queryNode != null && queryNode.isTextual()) {
+            this.persistedQueryRegistry.register(hash, queryNode.asText());
+        } else {
+            Optional<String> optionalQuery = this.persistedQueryRegistry.getQuery(hash);
+            if (optionalQuery.isEmpty()) {
+                response.setStatus(HttpServletResponse.SC_OK);
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                response.getWriter().write(PERSISTED_QUERY_NOT_FOUND_RESPONSE);
+                return;
+            }
+            objectPayload.put(QUERY, optionalQuery.get());
+        }
+
+        // The GraphQL endpoint does not know the persisted query extension
+        ObjectNode extensions = (ObjectNode) objectPayload.get(EXTENSIONS);
+        extensions.remove(PERSISTED_QUERY);
+        if (extensions.size() == 0) {
+            objectPayload.remove(EXTENSIONS);
+        }
+
+        filterChain.doFilter(new CachedBodyHttpServletRequest(request, this.objectMapper.writeValueAsBytes(objectPayload)), response);
+    }
+
+    /**
+     * Reads the payload of the request, unless it has already been parsed by the {@link ProjectAffinityFilter}. An
+     * invalid payload is left to the GraphQL endpoint which will report the error.
+     */
+    private JsonNode readPayload(HttpServletRequest request, byte[] body) {
+        Object payload = request.getAttribute(CachedBodyHttpServletRequest.PAYLOAD_ATTRIBUTE);
+        if (payload instanceof JsonNode) {
+            return (JsonNode) payload;
+        }
+        try {
+            return this.objectMapper.readTree(body);
+        } catch (IOException exception) {
+            return this.objectMapper.nullNode();
+        }
+    }
+
+    private Optional<String> getHash(JsonNode payload) {
+        // @formatter:off
+        return Optional.of(payload)
+                .filter(JsonNode::isObject)
+                .map(node -> node.get(EXTENSIONS))
+                .filter(JsonNode::isObject)
+                .map(node -> node.get(PERSISTED_QUERY))
+                .filter(JsonNode::isObject)
+                .map(node -> node.get(SHA256_HASH))
+                .filter(JsonNode::isTextual)
+                .map(JsonNode::asText);
+        // @formatter:on
+    }
+
+}
@@ -0,0 +1,519 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.filters;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.sirius.web.sample.services.ClusterRequestAuthenticator;
+import org.eclipse.sirius.web.sample.services.IProjectOwnershipRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Filter used to forward the requests on a project to the node of the cluster owning it, enabled with
+ * <code>sirius.web.cluster.enabled=true</code>.
+ * <p>
+ * The project is found in the variables <code>projectId</code> or <code>editingContextId</code>, directly or in
+ * <code>input</code>, of the GraphQL requests, in the path of the download of the projects and in the parameter
+ * <code>projectId</code> of the websockets of the subscriptions. The HTTP requests are forwarded with their
+ * authorization header, which is added by {@link SiriusWebAuthenticationFilter}, and their response is streamed back
+ * to the client. The websockets are accepted by the owner and tunneled through the current node, each tunnel using two
+ * threads, up to <code>sirius.web.cluster.max.websockets</code> tunnels at once. The websockets beyond this limit are
+ * rejected with the status 503 and the client connects again later.
+ * </p>
+ * <p>
+ * The forwarded requests are signed with the secret of the cluster, along with their body. They are processed by the
+ * node receiving them even if the nodes disagree on the owner during a change of the cluster, and the requests
+ * claiming to be forwarded without a valid signature are rejected.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "sirius.web.cluster.enabled", havingValue = "true")
+public class ProjectAffinityFilter extends OncePerRequestFilter {
+
+    private static final String FORWARDED_HEADER = "X-Sirius-Web-Forwarded"; //$NON-NLS-1$
+
+    private static final String FORWARDED_TIMESTAMP_HEADER = "X-Sirius-Web-Forwarded-Timestamp"; //$NON-NLS-1$
+
+    private static final String FORWARDED_SIGNATURE_HEADER = "X-Sirius-Web-Forwarded-Signature"; //$NON-NLS-1$
+
+    private static final String GRAPHQL_PATH = "/api/graphql"; //$NON-NLS-1$
+
+    private static final String SUBSCRIPTIONS_PATH = "/subscriptions"; //$NON-NLS-1$
+
+    private static final String WEBSOCKET = "websocket"; //$NON-NLS-1$
+
+    private static final Pattern PROJECT_PATH_PATTERN = Pattern.compile("/api/projects/([0-9a-fA-F-]{36})"); //$NON-NLS-1$
+
+    private static final String VARIABLES = "variables"; //$NON-NLS-1$
+
+    private static final String INPUT = "input"; //$NON-NLS-1$
+
+    private static final String PROJECT_ID = "projectId"; //$NON-NLS-1$
+
+    private static final String EDITING_CONTEXT_ID = "editingContextId"; //$NON-NLS-1$
+
+    private static final List<byte[]> PROJECT_KEYS_BYTES = List.of(PROJECT_ID.getBytes(StandardCharsets.US_ASCII), EDITING_CONTEXT_ID.getBytes(StandardCharsets.US_ASCII));
+
+    private static final String FORWARDED_COUNTER_NAME = "siriusweb_cluster_forwarded_requests"; //$NON-NLS-1$
+
+    private static final String REJECTED_WEBSOCKETS_COUNTER_NAME = "siriusweb_cluster_rejected_websockets"; //$NON-NLS-1$
+
+    private static final String TYPE_TAG = "type"; //$NON-NLS-1$
+
+    private static final String HTTP_SCHEME = "http"; //$NON-NLS-1$
+
+    private static final String HTTPS_SCHEME = "https"; //$NON-NLS-1$
+
+    private static final String CRLF = "\r\n"; //$NON-NLS-1$
+
+    private static final int MAX_RESPONSE_HEAD_SIZE = 16 * 1024;
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final int THREADS_PER_TUNNEL = 2;
+
+    private static final long TUNNEL_THREAD_KEEP_ALIVE_IN_SECONDS = 60;
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    /**
+     * The headers which cannot be set on the forwarded requests or which are computed for the responses.
+     */
+    private static final Set<String> EXCLUDED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * The headers which are not copied in the websockets tunneled to another node.
+     */
+    private static final Set<String> EXCLUDED_UPGRADE_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        EXCLUDED_HEADERS.addAll(List.of(HttpHeaders.CONNECTION, HttpHeaders.CONTENT_LENGTH, HttpHeaders.DATE, HttpHeaders.EXPECT, HttpHeaders.FROM, HttpHeaders.HOST, HttpHeaders.UPGRADE,
+                HttpHeaders.VIA, HttpHeaders.WARNING, HttpHeaders.TRANSFER_ENCODING, "Keep-Alive", FORWARDED_HEADER, FORWARDED_TIMESTAMP_HEADER, FORWARDED_SIGNATURE_HEADER)); //$NON-NLS-1$
+        EXCLUDED_UPGRADE_HEADERS.addAll(List.of(HttpHeaders.HOST, HttpHeaders.AUTHORIZATION, HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.DATE, FORWARDED_HEADER,
+                FORWARDED_TIMESTAMP_HEADER, FORWARDED_SIGNATURE_HEADER));
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).build();
+
+    private final ExecutorService tunnelExecutorService;
+
+    /**
+     * The permits of the tunnels, released once both threads of a tunnel are available again.
+     */
+    private final Semaphore tunnelPermits;
+
+    private final IProjectOwnershipRegistry projectOwnershipRegistry;
+
+    private final ClusterRequestAuthenticator clusterRequestAuthenticator;
+
+    private final ObjectMapper objectMapper;
+
+    private final Counter forwardedRequestCounter;
+
+    private final Counter tunneledWebSocketCounter;
+
+    private final Counter rejectedWebSocketCounter;
+
+    private final int maximumRequestSize;
+
+    public ProjectAffinityFilter(IProjectOwnershipRegistry projectOwnershipRegistry, ClusterRequestAuthenticator clusterRequestAuthenticator, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${sirius.web.cluster.max.request.size:1048576}") int maximumRequestSize, @Value("${sirius.web.cluster.max.websockets:200}") int maximumTunnels) {
+        this.projectOwnershipRegistry = Objects.requireNonNull(projectOwnershipRegistry);
+        this.clusterRequestAuthenticator = Objects.requireNonNull(clusterRequestAuthenticator);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.forwardedRequestCounter = Counter.builder(FORWARDED_COUNTER_NAME).tag(TYPE_TAG, "http").register(meterRegistry); //$NON-NLS-1$
+        this.tunneledWebSocketCounter = Counter.builder(FORWARDED_COUNTER_NAME).tag(TYPE_TAG, WEBSOCKET).register(meterRegistry);
+        this.rejectedWebSocketCounter = Counter.builder(REJECTED_WEBSOCKETS_COUNTER_NAME).register(meterRegistry);
+        this.maximumRequestSize = maximumRequestSize;
+
+        // The permits bound the number of tunnels, the queue only holds the copies of a new tunnel while the threads of
+        // a closed one are returning to the pool
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("sirius-web-websocket-tunnel-"); //$NON-NLS-1$
+        threadFactory.setDaemon(true);
+        int maximumThreads = Math.max(1, maximumTunnels * THREADS_PER_TUNNEL);
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(maximumThreads, maximumThreads, TUNNEL_THREAD_KEEP_ALIVE_IN_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        this.tunnelExecutorService = threadPoolExecutor;
+        this.tunnelPermits = new Semaphore(maximumTunnels);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(FORWARDED_HEADER) == null && !this.isGraphQLRequest(request) && !this.isProjectRequest(request) && !this.isSubscriptionsRequest(request);
+    }
+
+    private boolean isGraphQLRequest(HttpServletRequest request) {
+        return HttpMethod.POST.matches(request.getMethod()) && GRAPHQL_PATH.equals(request.getServletPath());
+    }
+
+    private boolean isProjectRequest(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) && PROJECT_PATH_PATTERN.matcher(request.getServletPath()).matches();
+    }
+
+    private boolean isSubscriptionsRequest(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) && SUBSCRIPTIONS_PATH.equals(request.getServletPath()) && this.isUpgradeRequest(request) && request.getParameter(PROJECT_ID) != null;
+    }
+
+    private boolean isUpgradeRequest(HttpServletRequest request) {
+        return WEBSOCKET.equalsIgnoreCase(request.getHeader(HttpHeaders.UPGRADE));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (request.getHeader(FORWARDED_HEADER) != null) {
+            // The body of the opening handshake of a websocket is empty, the frames following it are not part of it
+            byte[] forwardedBody = EMPTY_BODY;
+            if (!this.isUpgradeRequest(request)) {
+                forwardedBody = request.getInputStream().readNBytes(this.maximumRequestSize + 1);
+                if (forwardedBody.length > this.maximumRequestSize) {
+                    response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                    return;
+                }
+                request = new CachedBodyHttpServletRequest(request, forwardedBody);
+            }
+            if (this.isSigned(request, forwardedBody)) {
+                filterChain.doFilter(request, response);
+            } else {
+                response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            }
+            return;
+        }
+
+        Optional<String> optionalProjectId;
+        byte[] body = EMPTY_BODY;
+        if (this.isGraphQLRequest(request)) {
+            // The request is read entirely since its project is needed before forwarding it
+            body = request.getInputStream().readNBytes(this.maximumRequestSize + 1);
+            if (body.length > this.maximumRequestSize) {
+                response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                return;
+            }
+            request = new CachedBodyHttpServletRequest(request, body);
+            optionalProjectId = this.getProjectId(request, body);
+        } else if (this.isSubscriptionsRequest(request)) {
+            optionalProjectId = Optional.of(request.getParameter(PROJECT_ID));
+        } else {
+            Matcher matcher = PROJECT_PATH_PATTERN.matcher(request.getServletPath());
+            optionalProjectId = Optional.of(matcher).filter(Matcher::matches).map(value -> value.group(1));
+        }
+
+        Optional<String> optionalOwner = optionalProjectId.flatMap(this::parseUUID).map(this.projectOwnershipRegistry::getOwner);
+        if (optionalOwner.isEmpty() || optionalOwner.get().equals(this.projectOwnershipRegistry.getLocalNode())) {
+            filterChain.doFilter(request, response);
+        } else if (this.isSubscriptionsRequest(request)) {
+            this.tunneledWebSocketCounter.increment();
+            this.tunnel(optionalOwner.get(), request, response);
+        } else {
+            this.forwardedRequestCounter.increment();
+            this.forward(optionalOwner.get(), request, body, response);
+        }
+    }
+
+    private boolean isSigned(HttpServletRequest request, byte[] body) {
+        String origin = request.getHeader(FORWARDED_HEADER);
+        String timestamp = request.getHeader(FORWARDED_TIMESTAMP_HEADER);
+        String signature = request.getHeader(FORWARDED_SIGNATURE_HEADER);
+        if (timestamp == null || signature == null) {
+            return false;
+        }
+        try {
+            return this.clusterRequestAuthenticator.verify(request.getMethod(), this.getPathAndQuery(request), body, origin, Long.parseLong(timestamp), signature);
+        } catch (NumberFormatException exception) {
+            return false;
+        }
+    }
+
+    private String getPathAndQuery(HttpServletRequest request) {
+        return request.getServletPath() + Optional.ofNullable(request.getQueryString()).map(value -> "?" + value).orElse(""); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Returns the project of the given GraphQL request. Most requests do not mention any project, they are not parsed
+     * here and the parsed payload of the other ones is kept for the following filters.
+     */
+    private Optional<String> getProjectId(HttpServletRequest request, byte[] body) {
+        if (PROJECT_KEYS_BYTES.stream().noneMatch(key -> ByteArrays.contains(body, key))) {
+            return Optional.empty();
+        }
+        try {
+            JsonNode payload = this.objectMapper.readTree(body);
+            request.setAttribute(CachedBodyHttpServletRequest.PAYLOAD_ATTRIBUTE, payload);
+
+            JsonNode variables = payload.path(VARIABLES);
+            // @formatter:off
+            return List.of(variables, variables.path(INPUT)).stream()
+                    .flatMap(node -> List.of(node.path(PROJECT_ID), node.path(EDITING_CONTEXT_ID)).stream())
+                    .filter(JsonNode::isTextual)
+                    .map(JsonNode::asText)
+                    .findFirst();
+            // @formatter:on
+        } catch (IOException exception) {
+            // An invalid payload is left to the GraphQL endpoint which will report the error
+            return Optional.empty();
+        }
+    }
+
+    private Optional<UUID> parseUUID(String value) {
+        try {
+            return Optional.of(UUID.fromString(value));
+        } catch (IllegalArgumentException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private void forward(String owner, HttpServletRequest request, byte[] body, HttpServletResponse response) throws IOException {
+        String pathAndQuery = this.getPathAndQuery(request);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(owner + pathAndQuery));
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!EXCLUDED_HEADERS.contains(name)) {
+                Collections.list(request.getHeaders(name)).forEach(value -> builder.header(name, value));
+            }
+        }
+        Optional.ofNullable(request.getHeader(HttpHeaders.AUTHORIZATION)).ifPresent(value -> builder.setHeader(HttpHeaders.AUTHORIZATION, value));
+        this.getForwardedHeaders(request.getMethod(), pathAndQuery, body).forEach(builder::header);
+        builder.method(request.getMethod(), HttpRequest.BodyPublishers.ofByteArray(body));
+
+        try {
+            HttpResponse<InputStream> forwardedResponse = this.httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+            response.setStatus(forwardedResponse.statusCode());
+            for (Map.Entry<String, List<String>> entry : forwardedResponse.headers().map().entrySet()) {
+                if (!EXCLUDED_HEADERS.contains(entry.getKey()) && !entry.getKey().startsWith(":")) { //$NON-NLS-1$
+                    entry.getValue().forEach(value -> response.addHeader(entry.getKey(), value));
+                }
+            }
+            try (InputStream inputStream = forwardedResponse.body()) {
+                inputStream.transferTo(response.getOutputStream());
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        } catch (IOException exception) {
+            this.logger.warn("The request could not be forwarded to " + owner, exception); //$NON-NLS-1$
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_BAD_GATEWAY);
+            }
+        }
+    }
+
+    private Map<String, String> getForwardedHeaders(String method, String pathAndQuery, byte[] body) {
+        String origin = this.projectOwnershipRegistry.getLocalNode();
+        long timestamp = this.clusterRequestAuthenticator.getTimestamp();
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(FORWARDED_HEADER, origin);
+        headers.put(FORWARDED_TIMESTAMP_HEADER, Long.toString(timestamp));
+        headers.put(FORWARDED_SIGNATURE_HEADER, this.clusterRequestAuthenticator.sign(method, pathAndQuery, body, origin, timestamp));
+        return headers;
+    }
+
+    /**
+     * Sends the opening handshake of the websocket to the owner and, once it has been accepted, upgrades the connection
+     * of the client in order to copy the frames of the websocket between the client and the owner.
+     */
+    private void tunnel(String owner, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        if (!this.tunnelPermits.tryAcquire()) {
+            this.rejectedWebSocketCounter.increment();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        URI ownerURI = URI.create(owner);
+        Socket socket = null;
+        boolean isConnected = false;
+        try {
+            socket = this.createSocket(ownerURI);
+            OutputStream outputStream = socket.getOutputStream();
+            outputStream.write(this.createUpgradeRequest(ownerURI, request).getBytes(StandardCharsets.ISO_8859_1));
+            outputStream.flush();
+
+            InputStream inputStream = new BufferedInputStream(socket.getInputStream());
+            List<String> responseHead = readResponseHead(inputStream);
+            int statusCode = getStatusCode(responseHead);
+            if (statusCode != HttpServletResponse.SC_SWITCHING_PROTOCOLS) {
+                socket.close();
+                response.sendError(statusCode);
+                return;
+            }
+
+            for (String line : responseHead.subList(1, responseHead.size())) {
+                int separatorIndex = line.indexOf(':');
+                String name = line.substring(0, separatorIndex).trim();
+                if (!EXCLUDED_UPGRADE_HEADERS.contains(name)) {
+                    response.addHeader(name, line.substring(separatorIndex + 1).trim());
+                }
+            }
+            WebSocketTunnel webSocketTunnel = request.upgrade(WebSocketTunnel.class);
+            webSocketTunnel.connect(socket, inputStream, this.tunnelExecutorService, this.tunnelPermits::release);
+            isConnected = true;
+        } catch (IOException | IllegalArgumentException exception) {
+            this.logger.warn("The websocket could not be forwarded to " + owner, exception); //$NON-NLS-1$
+            if (socket != null) {
+                socket.close();
+            }
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_BAD_GATEWAY);
+            }
+        } finally {
+            if (!isConnected) {
+                this.tunnelPermits.release();
+            }
+        }
+    }
+
+    private Socket createSocket(URI ownerURI) throws IOException {
+        boolean isSecure = HTTPS_SCHEME.equalsIgnoreCase(ownerURI.getScheme());
+        int defaultPort = 80;
+        if (isSecure) {
+            defaultPort = 443;
+        } else if (!HTTP_SCHEME.equalsIgnoreCase(ownerURI.getScheme())) {
+            throw new IllegalArgumentException("Unsupported scheme " + ownerURI.getScheme()); //$NON-NLS-1$
+        }
+        int port = ownerURI.getPort() >= 0 ? ownerURI.getPort() : defaultPort;
+
+        Socket socket = new Socket();
+        socket.connect(new InetSocketAddress(ownerURI.getHost(), port), (int) CONNECT_TIMEOUT.toMillis());
+        if (isSecure) {
+            SSLSocket sslSocket = (SSLSocket) ((SSLSocketFactory) SSLSocketFactory.getDefault()).createSocket(socket, ownerURI.getHost(), port, true);
+            SSLParameters sslParameters = sslSocket.getSSLParameters();
+            sslParameters.setEndpointIdentificationAlgorithm("HTTPS"); //$NON-NLS-1$
+            sslSocket.setSSLParameters(sslParameters);
+            socket = sslSocket;
+        }
+        return socket;
+    }
+
+    /**
+     * Creates the opening handshake sent to the owner, with the key and the protocols of the client since the owner
+     * answers directly to the client.
+     */
+    private String createUpgradeRequest(URI ownerURI, HttpServletRequest request) {
+        String pathAndQuery = this.getPathAndQuery(request);
+        StringBuilder builder = new StringBuilder();
+        builder.append(HttpMethod.GET.name()).append(' ').append(ownerURI.getRawPath()).append(pathAndQuery).append(" HTTP/1.1").append(CRLF); //$NON-NLS-1$
+        builder.append(HttpHeaders.HOST).append(": ").append(ownerURI.getRawAuthority()).append(CRLF); //$NON-NLS-1$
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!EXCLUDED_UPGRADE_HEADERS.contains(name)) {
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    builder.append(name).append(": ").append(value).append(CRLF); //$NON-NLS-1$
+                }
+            }
+        }
+        Optional.ofNullable(request.getHeader(HttpHeaders.AUTHORIZATION)).ifPresent(value -> builder.append(HttpHeaders.AUTHORIZATION).append(": ").append(value).append(CRLF)); //$NON-NLS-1$
+        this.getForwardedHeaders(HttpMethod.GET.name(), pathAndQuery, EMPTY_BODY).forEach((name, value) -> builder.append(name).append(": ").append(value).append(CRLF)); //$NON-NLS-1$
+        builder.append(CRLF);
+        return builder.toString();
+    }
+
+    /**
+     * Reads the status line and the headers of the response, without reading the frames which may follow them.
+     *
+     * @param inputStream
+     *            The input stream of the connection
+     * @return The status line followed by the headers of the response
+     * @throws IOException
+     *             If the response cannot be read
+     */
+    static List<String> readResponseHead(InputStream inputStream) throws IOException {
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        int size = 0;
+        int value = inputStream.read();
+        while (value >= 0 && size < MAX_RESPONSE_HEAD_SIZE) {
+            size++;
+            if (value == '\n') {
+                int length = line.length();
+                if (length > 0 && line.charAt(length - 1) == '\r') {
+                    line.setLength(length - 1);
+                }
+                if (line.length() == 0) {
+                    return lines;
+                }
+                lines.add(line.toString());
+                line.setLength(0);
+            } else {
+                line.append((char) value);
+            }
+            value = inputStream.read();
+        }
+        throw new IOException("Invalid response to the opening handshake"); //$NON-NLS-1$
+    }
+
+    static int getStatusCode(List<String> responseHead) throws IOException {
+        String[] statusLine = responseHead.isEmpty() ? new String[0] : responseHead.get(0).split(" "); //$NON-NLS-1$
+        try {
+            if (statusLine.length >= 2) {
+                return Integer.parseInt(statusLine[1]);
+            }
+        } catch (NumberFormatException exception) {
+            // Reported below
+        }
+        throw new IOException("Invalid status line in the response to the opening handshake"); //$NON-NLS-1$
+    }
+
+    @Override
+    public void destroy() {
+        this.tunnelExecutorService.shutdownNow();
+    }
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.filters;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Filter used to limit the number of uploads processed at the same time.
+ * <p>
+ * The content of an upload is spilled to disk by the multipart support once it is bigger than
+ * <code>spring.servlet.multipart.file-size-threshold</code>, but the import of a model still needs memory and CPU.
+ * Uploads need a permit before their body is read. The wait for a permit is kept very short since it blocks a worker
+ * thread of the server which could process other requests. If no permit is available after this short delay, the upload
+ * is rejected with the status 503 and the client can try again later.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Component
+public class UploadConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final String UPLOAD_PATH = "/api/graphql/upload"; //$NON-NLS-1$
+
+    private static final String WAIT_TIMER_NAME = "siriusweb_upload_wait"; //$NON-NLS-1$
+
+    private static final String ACTIVE_GAUGE_NAME = "siriusweb_upload_active"; //$NON-NLS-1$
+
+    private static final String REJECTED_COUNTER_NAME = "siriusweb_upload_rejected"; //$NON-NLS-1$
+
+    private final int maxConcurrentUploads;
+
+    private final Semaphore semaphore;
+
+    private final Duration maxWait;
+
+    private final Duration retryAfter;
+
+    private final Timer waitTimer;
+
+    private final Counter rejectedCounter;
+
+    public UploadConcurrencyFilter(MeterRegistry meterRegistry, @Value("${sirius.web.upload.max.concurrent:4}") int maxConcurrentUploads,
+            @Value("${sirius.web.upload.max.wait:100}") long maxWaitInMilliseconds, @Value("${sirius.web.upload.retry.after:5}") long retryAfterInSeconds) {
+        this.maxConcurrentUploads = maxConcurrentUploads;
+        this.semaphore = new Semaphore(maxConcurrentUploads, true);
+        this.maxWait = Duration.ofMillis(maxWaitInMilliseconds);
+        this.retryAfter = Duration.ofSeconds(retryAfterInSeconds);
+        this.waitTimer = Timer.builder(WAIT_TIMER_NAME).register(meterRegistry);
+        this.rejectedCounter = Counter.builder(REJECTED_COUNTER_NAME).register(meterRegistry);
+        meterRegistry.gauge(ACTIVE_GAUGE_NAME, this.semaphore, value -> this.maxConcurrentUploads - value.availablePermits());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || !UPLOAD_PATH.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            acquired = this.semaphore.tryAcquire(this.maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        this.waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            this.rejectedCounter.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(this.retryAfter.toSeconds()));
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            this.semaphore.release();
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.filters;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.http.HttpUpgradeHandler;
+import javax.servlet.http.WebConnection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Upgrade handler copying the bytes of a websocket between the client and the node of the cluster which has accepted
+ * the websocket, in both directions, until one of them closes it.
+ * <p>
+ * It is instantiated by the servlet container and must be connected to the node before the end of the request which
+ * has upgraded the connection. The given callback is called once both copies have ended, or when the tunnel is
+ * destroyed before they start, so that their threads can be used by another tunnel.
+ * </p>
+ *
+ * @author agent
+ */
+public class WebSocketTunnel implements HttpUpgradeHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebSocketTunnel.class);
+
+    private static final int TRANSFER_COUNT = 2;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private final AtomicInteger remainingTransfers = new AtomicInteger(TRANSFER_COUNT);
+
+    private Socket socket;
+
+    private InputStream socketInputStream;
+
+    private Executor executor;
+
+    private Runnable onReleased;
+
+    private WebConnection webConnection;
+
+    /**
+     * Connects the tunnel to the node.
+     *
+     * @param socket
+     *            The socket connected to the node, once the websocket has been accepted
+     * @param socketInputStream
+     *            The input stream of the socket, which may have buffered the first bytes sent by the node
+     * @param executor
+     *            The executor of the copies in both directions, which run until the websocket is closed
+     * @param onReleased
+     *            The callback called once the copies have ended
+     */
+    void connect(Socket socket, InputStream socketInputStream, Executor executor, Runnable onReleased) {
+        this.socket = Objects.requireNonNull(socket);
+        this.socketInputStream = Objects.requireNonNull(socketInputStream);
+        this.executor = Objects.requireNonNull(executor);
+        this.onReleased = Objects.requireNonNull(onReleased);
+    }
+
+    @Override
+    public void init(WebConnection connection) {
+        this.webConnection = connection;
+        this.started.set(true);
+        this.start(() -> this.transfer(() -> connection.getInputStream(), () -> this.socket.getOutputStream()));
+        this.start(() -> this.transfer(() -> this.socketInputStream, () -> connection.getOutputStream()));
+    }
+
+    private void start(Runnable transfer) {
+        try {
+            this.executor.execute(transfer);
+        } catch (RejectedExecutionException exception) {
+            LOGGER.warn("The websocket tunnel could not be started", exception); //$NON-NLS-1$
+            this.close();
+            this.onTransferEnded();
+        }
+    }
+
+    private void transfer(StreamSupplier<InputStream> inputStreamSupplier, StreamSupplier<OutputStream> outputStreamSupplier) {
+        byte[] buffer = new byte[8192];
+        try {
+            InputStream inputStream = inputStreamSupplier.get();
+            OutputStream outputStream = outputStreamSupplier.get();
+            int length = inputStream.read(buffer);
+            while (length >= 0) {
+                outputStream.write(buffer, 0, length);
+                outputStream.flush();
+                length = inputStream.read(buffer);
+            }
+        } catch (IOException exception) {
+            if (!this.closed.get()) {
+                LOGGER.debug("The websocket tunnel has been interrupted", exception); //$NON-NLS-1$
+            }
+        } finally {
+            this.close();
+            this.onTransferEnded();
+        }
+    }
+
+    private void onTransferEnded() {
+        if (this.remainingTransfers.decrementAndGet() == 0) {
+            this.release();
+        }
+    }
+
+    private void release() {
+        if (this.released.compareAndSet(false, true)) {
+            this.onReleased.run();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.close();
+        if (!this.started.get()) {
+            this.release();
+        }
+    }
+
+    private void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            try {
+                this.socket.close();
+            } catch (IOException exception) {
+                LOGGER.debug(exception.getMessage(), exception);
+            }
+            try {
+                if (this.webConnection != null) {
+                    this.webConnection.close();
+                }
+            } catch (Exception exception) {
+                // WebConnection.close() is declared as throwing any exception
+                LOGGER.debug(exception.getMessage(), exception);
+            }
+        }
+    }
+
+    /**
+     * Supplies a stream which may not be available.
+     *
+     * @param <T>
+     *            The type of the stream
+     * @author agent
+     */
+    @FunctionalInterface
+    private interface StreamSupplier<T> {
+        T get() throws IOException;
+    }
+}
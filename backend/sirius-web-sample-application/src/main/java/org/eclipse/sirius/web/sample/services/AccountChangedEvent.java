@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import java.text.MessageFormat;
+import java.util.Objects;
+
+/**
+ * Event to publish when an account has been modified or deleted in order to evict all the data cached for this
+ * account.
+ *
+ * @author sbegaudeau
+ */
+public class AccountChangedEvent {
+
+    private final String username;
+
+    public AccountChangedEvent(String username) {
+        this.username = Objects.requireNonNull(username);
+    }
+
+    public String getUsername() {
+        return this.username;
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{'username: {1}'}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.username);
+    }
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.sirius.web.persistence.entities.AccountEntity;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Publishes an {@link AccountChangedEvent} once the modification or the deletion of an account has been committed.
+ * <p>
+ * The accounts are modified by sirius-components, the changes are thus observed at the level of Hibernate. The data
+ * cached for the account is evicted under its new and its previous username. Bulk updates performed with queries are
+ * not observed, the caches will only forget them once they expire. It is registered on Hibernate by
+ * {@link org.eclipse.sirius.web.sample.configuration.JPAConfiguration}.
+ * </p>
+ *
+ * @author agent
+ */
+public class AccountChangedEventPublisher implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String USERNAME_PROPERTY = "username"; //$NON-NLS-1$
+
+    private final transient ApplicationEventPublisher applicationEventPublisher;
+
+    public AccountChangedEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = Objects.requireNonNull(applicationEventPublisher);
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return AccountEntity.class.equals(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof AccountEntity) {
+            Set<String> usernames = new LinkedHashSet<>();
+            usernames.add(((AccountEntity) event.getEntity()).getUsername());
+
+            int usernameIndex = Arrays.asList(event.getPersister().getPropertyNames()).indexOf(USERNAME_PROPERTY);
+            if (usernameIndex >= 0 && event.getOldState() != null && event.getOldState()[usernameIndex] instanceof String) {
+                usernames.add((String) event.getOldState()[usernameIndex]);
+            }
+
+            usernames.stream().filter(Objects::nonNull).map(AccountChangedEvent::new).forEach(this.applicationEventPublisher::publishEvent);
+        }
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // The previous state of the account is still valid
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof AccountEntity) {
+            String username = ((AccountEntity) event.getEntity()).getUsername();
+            if (username != null) {
+                this.applicationEventPublisher.publishEvent(new AccountChangedEvent(username));
+            }
+        }
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // The account still exists
+    }
+
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.sirius.web.persistence.repositories.IAccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Retrieves the user details from the accounts, keeping them in memory for a short time to avoid querying the database
+ * again and again for the same users.
+ * <p>
+ * The user details of an account are evicted as soon as {@link AccountChangedEventPublisher} reports that it has been
+ * modified or deleted.
+ * </p>
+ * <p>
+ * A new instance of the user details is returned for each call since Spring Security erases the credentials of the
+ * user details once the authentication has been performed.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Service
+public class AccountUserDetailsService implements UserDetailsService {
+
+    private static final String CACHE_NAME = "siriusweb_account_user_details"; //$NON-NLS-1$
+
+    private final IAccountRepository accountRepository;
+
+    private final Cache<String, UserDetails> cache;
+
+    public AccountUserDetailsService(IAccountRepository accountRepository, MeterRegistry meterRegistry, @Value("${sirius.web.security.accounts.cache.ttl:60}") long timeToLive,
+            @Value("${sirius.web.security.accounts.cache.max.size:1000}") long maximumSize) {
+        this.accountRepository = Objects.requireNonNull(accountRepository);
+        // @formatter:off
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(timeToLive))
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        // @formatter:on
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails userDetails = this.cache.get(username, this::findUserDetails);
+        if (userDetails == null) {
+            throw new UsernameNotFoundException(MessageFormat.format("User ''{0}'' not found", username)); //$NON-NLS-1$
+        }
+        return User.withUserDetails(userDetails).build();
+    }
+
+    private UserDetails findUserDetails(String username) {
+        // @formatter:off
+        return this.accountRepository.findByUsername(username)
+                .map(account -> new User(account.getUsername(), account.getPassword(), List.of()))
+                .orElse(null);
+        // @formatter:on
+    }
+
+    @EventListener
+    public void onAccountChanged(AccountChangedEvent event) {
+        this.evict(event.getUsername());
+    }
+
+    public void evict(String username) {
+        this.cache.invalidate(username);
+    }
+}
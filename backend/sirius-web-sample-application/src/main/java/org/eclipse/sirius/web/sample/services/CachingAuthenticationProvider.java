@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Objects;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Authentication provider used to remember the successful authentications performed by another provider.
+ * <p>
+ * Verifying a password hashed with BCrypt is deliberately slow and, with the HTTP basic authentication, it has to be
+ * performed for each request. Once a username and password have been successfully authenticated, the resulting
+ * authentication will thus be reused until it expires or until the account is modified, as reported by
+ * {@link AccountChangedEventPublisher}. Only a salted digest of the password is kept in memory in order to recognize
+ * the credentials of the following requests.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String CACHE_NAME = "siriusweb_authentication"; //$NON-NLS-1$
+
+    private static final String DIGEST_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+    private static final int SALT_LENGTH = 32;
+
+    private final AuthenticationProvider delegate;
+
+    private final Cache<String, CachedAuthentication> cache;
+
+    private final byte[] salt;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, MeterRegistry meterRegistry, Duration timeToLive, long maximumSize) {
+        this.delegate = Objects.requireNonNull(delegate);
+        // @formatter:off
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        // @formatter:on
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+
+        this.salt = new byte[SALT_LENGTH];
+        new SecureRandom().nextBytes(this.salt);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken) || authentication.getCredentials() == null) {
+            return this.delegate.authenticate(authentication);
+        }
+
+        String username = authentication.getName();
+        byte[] credentialsDigest = this.digest(authentication.getCredentials().toString());
+
+        CachedAuthentication cachedAuthentication = this.cache.getIfPresent(username);
+        if (cachedAuthentication != null && MessageDigest.isEqual(cachedAuthentication.getCredentialsDigest(), credentialsDigest)) {
+            return cachedAuthentication.getAuthentication();
+        }
+
+        Authentication result = this.delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            this.cache.put(username, new CachedAuthentication(credentialsDigest, result));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return this.delegate.supports(authentication);
+    }
+
+    @EventListener
+    public void onAccountChanged(AccountChangedEvent event) {
+        this.evict(event.getUsername());
+    }
+
+    public void evict(String username) {
+        this.cache.invalidate(username);
+    }
+
+    private byte[] digest(String credentials) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            messageDigest.update(this.salt);
+            return messageDigest.digest(credentials.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException exception) {
+            // Every implementation of the Java platform is required to support SHA-256
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * A successful authentication along with the digest of the credentials used to obtain it.
+     *
+     * @author sbegaudeau
+     */
+    private static final class CachedAuthentication {
+
+        private final byte[] credentialsDigest;
+
+        private final Authentication authentication;
+
+        CachedAuthentication(byte[] credentialsDigest, Authentication authentication) {
+            this.credentialsDigest = Objects.requireNonNull(credentialsDigest);
+            this.authentication = Objects.requireNonNull(authentication);
+        }
+
+        public byte[] getCredentialsDigest() {
+            return this.credentialsDigest;
+        }
+
+        public Authentication getAuthentication() {
+            return this.authentication;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import java.util.Objects;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import reactor.core.Disposable;
+
+/**
+ * Sends the {@link AccountChangedEvent} to the other nodes of the cluster in order to evict the data cached for the
+ * account on all of them.
+ *
+ * @author sbegaudeau
+ */
+@Service
+@ConditionalOnProperty(name = "sirius.web.cluster.enabled", havingValue = "true")
+public class ClusterAccountChangedEventBridge implements DisposableBean {
+
+    private static final String TOPIC = "account.changed"; //$NON-NLS-1$
+
+    private final IClusterEventBus clusterEventBus;
+
+    private final String localNode;
+
+    private final Disposable subscription;
+
+    public ClusterAccountChangedEventBridge(IClusterEventBus clusterEventBus, IProjectOwnershipRegistry projectOwnershipRegistry, ApplicationEventPublisher applicationEventPublisher) {
+        this.clusterEventBus = Objects.requireNonNull(clusterEventBus);
+        this.localNode = projectOwnershipRegistry.getLocalNode();
+
+        // @formatter:off
+        this.subscription = clusterEventBus.subscribe(TOPIC)
+                .filter(event -> !this.localNode.equals(event.getOrigin()))
+                .subscribe(event -> applicationEventPublisher.publishEvent(new RemoteAccountChangedEvent(event.getPayload())));
+        // @formatter:on
+    }
+
+    @EventListener
+    public void onAccountChanged(AccountChangedEvent event) {
+        // The events received from the other nodes must not be sent back to them
+        if (!(event instanceof RemoteAccountChangedEvent)) {
+            this.clusterEventBus.publish(new ClusterEvent(this.localNode, TOPIC, event.getUsername()));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.subscription.dispose();
+    }
+
+    /**
+     * Account changed event received from another node.
+     *
+     * @author sbegaudeau
+     */
+    private static class RemoteAccountChangedEvent extends AccountChangedEvent {
+        RemoteAccountChangedEvent(String username) {
+            super(username);
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import java.text.MessageFormat;
+import java.util.Objects;
+
+/**
+ * Event sent to the other nodes of the cluster.
+ * <p>
+ * The payload is a string so that the events can be sent over the network by any implementation of the event bus.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class ClusterEvent {
+
+    private final String origin;
+
+    private final String topic;
+
+    private final String payload;
+
+    public ClusterEvent(String origin, String topic, String payload) {
+        this.origin = Objects.requireNonNull(origin);
+        this.topic = Objects.requireNonNull(topic);
+        this.payload = Objects.requireNonNull(payload);
+    }
+
+    public String getOrigin() {
+        return this.origin;
+    }
+
+    public String getTopic() {
+        return this.topic;
+    }
+
+    public String getPayload() {
+        return this.payload;
+    }
+
+    @Override
+    public String toString() {
+        String pattern = "{0} '{'origin: {1}, topic: {2}'}'"; //$NON-NLS-1$
+        return MessageFormat.format(pattern, this.getClass().getSimpleName(), this.origin, this.topic);
+    }
+}
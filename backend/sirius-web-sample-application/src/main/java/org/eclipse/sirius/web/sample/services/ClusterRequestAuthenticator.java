@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Objects;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Signs the requests forwarded from a node of the cluster to another one with the secret shared by the nodes.
+ * <p>
+ * The signature is the HMAC-SHA256 of the method, the path and the query of the request, the SHA-256 digest of its
+ * body, its origin and the time at which it has been forwarded. The requests are thus only considered as forwarded by
+ * another node if they are signed with the secret of the cluster, recently enough to limit their replay, and their body
+ * cannot be replaced while they are replayed.
+ * </p>
+ *
+ * @author agent
+ */
+public class ClusterRequestAuthenticator {
+
+    private static final String ALGORITHM = "HmacSHA256"; //$NON-NLS-1$
+
+    private static final String DIGEST_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+    private static final String SEPARATOR = "\n"; //$NON-NLS-1$
+
+    private final SecretKeySpec secretKey;
+
+    private final Duration maxClockSkew;
+
+    private final Clock clock;
+
+    public ClusterRequestAuthenticator(String secret, Duration maxClockSkew, Clock clock) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("The secret of the cluster must not be empty"); //$NON-NLS-1$
+        }
+        this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.maxClockSkew = Objects.requireNonNull(maxClockSkew);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Returns the current time, to be sent with the request and given to
+     * {@link #sign(String, String, byte[], String, long)}.
+     *
+     * @return The current time in milliseconds
+     */
+    public long getTimestamp() {
+        return this.clock.millis();
+    }
+
+    /**
+     * Signs a forwarded request.
+     *
+     * @param method
+     *            The method of the request
+     * @param pathAndQuery
+     *            The path of the request followed by its query, if any
+     * @param body
+     *            The body of the request, empty if it has none
+     * @param origin
+     *            The node forwarding the request
+     * @param timestamp
+     *            The time at which the request is forwarded
+     * @return The signature of the request
+     */
+    public String sign(String method, String pathAndQuery, byte[] body, String origin, long timestamp) {
+        String value = String.join(SEPARATOR, method, pathAndQuery, this.getDigest(body), origin, Long.toString(timestamp));
+        return Base64.getEncoder().encodeToString(this.createMac().doFinal(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Indicates if the given signature is the one of a request forwarded recently.
+     *
+     * @param method
+     *            The method of the request
+     * @param pathAndQuery
+     *            The path of the request followed by its query, if any
+     * @param body
+     *            The body of the request, empty if it has none
+     * @param origin
+     *            The node which has forwarded the request
+     * @param timestamp
+     *            The time at which the request has been forwarded
+     * @param signature
+     *            The signature sent with the request
+     * @return <code>true</code> if the signature is valid
+     */
+    public boolean verify(String method, String pathAndQuery, byte[] body, String origin, long timestamp, String signature) {
+        boolean isRecent = Math.abs(this.clock.millis() - timestamp) <= this.maxClockSkew.toMillis();
+        byte[] expectedSignature = this.sign(method, pathAndQuery, body, origin, timestamp).getBytes(StandardCharsets.US_ASCII);
+        return isRecent && MessageDigest.isEqual(expectedSignature, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String getDigest(byte[] body) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance(DIGEST_ALGORITHM).digest(body));
+        } catch (NoSuchAlgorithmException exception) {
+            // SHA-256 is supported by all the Java platforms
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private Mac createMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(this.secretKey);
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException exception) {
+            // HmacSHA256 is supported by all the Java platforms
+            throw new IllegalStateException(exception);
+        }
+    }
+}
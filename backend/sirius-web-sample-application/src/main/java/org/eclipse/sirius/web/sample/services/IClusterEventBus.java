@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Broadcasts events to all the nodes of the cluster.
+ * <p>
+ * The events published by a node are also received by its own subscribers, they can be ignored using their origin.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public interface IClusterEventBus {
+
+    void publish(ClusterEvent event);
+
+    /**
+     * Returns the events of the given topic published after the subscription.
+     *
+     * @param topic
+     *            The topic of the events
+     * @return The events of the topic
+     */
+    Flux<ClusterEvent> subscribe(String topic);
+}
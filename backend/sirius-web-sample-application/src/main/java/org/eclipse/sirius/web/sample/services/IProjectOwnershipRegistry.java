@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import java.util.UUID;
+
+/**
+ * Finds the node of the cluster owning a project.
+ * <p>
+ * The editing contexts are kept in the memory of each node, the requests on a project should thus be processed by its
+ * owner to prevent the nodes from modifying different copies of the same project.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public interface IProjectOwnershipRegistry {
+
+    /**
+     * Returns the identifier of the current node.
+     *
+     * @return The base URL of the current node
+     */
+    String getLocalNode();
+
+    /**
+     * Returns the node owning the given project.
+     *
+     * @param projectId
+     *            The identifier of the project
+     * @return The base URL of the owner of the project
+     */
+    String getOwner(UUID projectId);
+
+    default boolean isOwnedLocally(UUID projectId) {
+        return this.getLocalNode().equals(this.getOwner(projectId));
+    }
+}
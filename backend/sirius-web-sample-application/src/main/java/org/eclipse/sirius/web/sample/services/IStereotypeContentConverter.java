@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Used to convert the source model of a stereotype into its content, encoded in UTF-8.
+ *
+ * @author agent
+ */
+@FunctionalInterface
+public interface IStereotypeContentConverter {
+    void convert(InputStream inputStream, OutputStream outputStream) throws IOException;
+}
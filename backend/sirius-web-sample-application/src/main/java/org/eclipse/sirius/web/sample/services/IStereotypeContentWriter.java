@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Used to write the content of a stereotype directly in a stream, encoded in UTF-8.
+ *
+ * @author sbegaudeau
+ */
+@FunctionalInterface
+public interface IStereotypeContentWriter {
+    void write(OutputStream outputStream) throws IOException;
+}
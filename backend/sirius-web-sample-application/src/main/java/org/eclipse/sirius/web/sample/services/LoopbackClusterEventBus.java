@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.Sinks.EmitResult;
+
+/**
+ * Event bus delivering the events in the current JVM only.
+ * <p>
+ * It is used when the application runs on a single node and it can be shared by several applications started in the
+ * same JVM in order to test the behavior of a cluster.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class LoopbackClusterEventBus implements IClusterEventBus {
+
+    private final Sinks.Many<ClusterEvent> sink = Sinks.many().multicast().directBestEffort();
+
+    @Override
+    public void publish(ClusterEvent event) {
+        EmitResult emitResult = this.sink.tryEmitNext(event);
+        // Concurrent publications are retried, an event without subscriber is simply dropped
+        while (emitResult == EmitResult.FAIL_NON_SERIALIZED) {
+            emitResult = this.sink.tryEmitNext(event);
+        }
+    }
+
+    @Override
+    public Flux<ClusterEvent> subscribe(String topic) {
+        return this.sink.asFlux().filter(event -> topic.equals(event.getTopic()));
+    }
+
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Keeps the text of the GraphQL queries sent by the clients under their SHA-256 hash.
+ * <p>
+ * The clients send only the hash of the queries which have already been registered, falling back to the full text if
+ * the query has been evicted. A query is only registered if its hash matches its text so that a client cannot register
+ * a query under the hash of another one.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+@Service
+public class PersistedQueryRegistry {
+
+    private static final String CACHE_NAME = "siriusweb_graphql_persisted_queries"; //$NON-NLS-1$
+
+    private static final String SHA_256 = "SHA-256"; //$NON-NLS-1$
+
+    private final Cache<String, String> cache;
+
+    public PersistedQueryRegistry(MeterRegistry meterRegistry, @Value("${sirius.web.graphql.persisted.queries.max.size:1000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    public Optional<String> getQuery(String hash) {
+        return Optional.ofNullable(this.cache.getIfPresent(hash.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Registers the given query under the given hash, stored in lower case whatever the case used by the client.
+     *
+     * @param hash
+     *            The hexadecimal SHA-256 hash of the query
+     * @param query
+     *            The text of the query
+     * @return <code>true</code> if the hash matches the query and the query has been registered, <code>false</code>
+     *         otherwise
+     */
+    public boolean register(String hash, String query) {
+        String queryHash = this.hash(query);
+        boolean isValid = queryHash.equals(hash.toLowerCase(Locale.ROOT));
+        if (isValid) {
+            this.cache.put(queryHash, query);
+        }
+        return isValid;
+    }
+
+    private String hash(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance(SHA_256).digest(query.getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte value : digest) {
+                builder.append(Character.forDigit((value >> 4) & 0xF, 16));
+                builder.append(Character.forDigit(value & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException exception) {
+            // SHA-256 is available in every Java platform
+            throw new IllegalStateException(exception);
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Ownership registry computing the owner of each project from the list of the nodes of the cluster.
+ * <p>
+ * Each node computes the same owner without any coordination using rendezvous hashing, the node with the highest
+ * weight for a project owns it. When a node is added or removed, only the projects owned by this node change of owner.
+ * </p>
+ *
+ * @author sbegaudeau
+ */
+public class RendezvousProjectOwnershipRegistry implements IProjectOwnershipRegistry {
+
+    private final String localNode;
+
+    private final List<String> nodes;
+
+    public RendezvousProjectOwnershipRegistry(String localNode, List<String> nodes) {
+        this.localNode = Objects.requireNonNull(localNode);
+        this.nodes = List.copyOf(nodes);
+    }
+
+    @Override
+    public String getLocalNode() {
+        return this.localNode;
+    }
+
+    @Override
+    public String getOwner(UUID projectId) {
+        String owner = this.localNode;
+        long highestWeight = Long.MIN_VALUE;
+        for (String node : this.nodes) {
+            long weight = this.getWeight(node, projectId);
+            if (weight > highestWeight) {
+                highestWeight = weight;
+                owner = node;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * Returns the weight of the given node for the given project. It must not depend on the JVM since all the nodes have
+     * to find the same owner.
+     */
+    private long getWeight(String node, UUID projectId) {
+        return UUID.nameUUIDFromBytes((node + projectId).getBytes(StandardCharsets.UTF_8)).getMostSignificantBits();
+    }
+
+}
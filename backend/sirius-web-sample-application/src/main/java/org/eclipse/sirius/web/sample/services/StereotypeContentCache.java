@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache of the serialized content of the stereotypes, used to avoid converting the same models again and again each
+ * time a project is created.
+ * <p>
+ * The cache is bounded by the total number of characters of the content that it holds. The same string is returned
+ * for each creation of a project since the stereotype descriptions only accept a string.
+ * </p>
+ *
+ * @author agent
+ */
+@Service
+public class StereotypeContentCache {
+
+    private static final String CACHE_NAME = "siriusweb_stereotype_content"; //$NON-NLS-1$
+
+    private final Logger logger = LoggerFactory.getLogger(StereotypeContentCache.class);
+
+    private final Cache<UUID, String> cache;
+
+    @Autowired
+    public StereotypeContentCache(MeterRegistry meterRegistry, @Value("${sirius.web.stereotypes.cache.max.weight:134217728}") long maximumWeight) {
+        this(meterRegistry, maximumWeight, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates the cache with the executor used to evict the content, the default one of Caffeine being the common
+     * pool.
+     */
+    StereotypeContentCache(MeterRegistry meterRegistry, long maximumWeight, Executor executor) {
+        // @formatter:off
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .executor(executor)
+                .weigher((UUID stereotypeDescriptionId, String content) -> content.length())
+                .recordStats()
+                .build();
+        // @formatter:on
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the content of the stereotype with the given id, writing it with the given writer if necessary.
+     *
+     * @param stereotypeDescriptionId
+     *            The id of the stereotype description
+     * @param contentWriter
+     *            The writer used to compute the content if it is not available yet
+     * @return The content of the stereotype or an empty string if it could not be computed
+     */
+    public String getContent(UUID stereotypeDescriptionId, IStereotypeContentWriter contentWriter) {
+        String content = this.cache.get(stereotypeDescriptionId, id -> this.write(id, contentWriter));
+        if (content == null) {
+            content = ""; //$NON-NLS-1$
+        }
+        return content;
+    }
+
+    /**
+     * Writes the content of the stereotype. The content is decoded directly from the buffer of the stream, once the
+     * writer has returned and its model can be reclaimed. An empty content is considered as a failure of the writer
+     * and will thus not be cached.
+     */
+    private String write(UUID stereotypeDescriptionId, IStereotypeContentWriter contentWriter) {
+        String content = null;
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            contentWriter.write(outputStream);
+            if (outputStream.size() > 0) {
+                content = outputStream.toString(StandardCharsets.UTF_8);
+            }
+        } catch (IOException exception) {
+            this.logger.error(exception.getMessage(), exception);
+        }
+        return content;
+    }
+
+    public void invalidate(UUID stereotypeDescriptionId) {
+        this.cache.invalidate(stereotypeDescriptionId);
+    }
+
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.eclipse.sirius.web.emf.services.SiriusWebJSONResourceFactoryImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Store of the converted content of the stereotypes on disk, used to avoid converting the same models again after a
+ * restart.
+ * <p>
+ * The converted content is stored in the directory <code>sirius.web.stereotypes.cache.directory</code>, in a file
+ * named after the SHA-256 checksum of the source model and of the version of the JSON serialization, so that a
+ * modified model or a new version of the serialization is converted again. The store is disabled without directory,
+ * and the models are converted without being stored if the directory cannot be read or written.
+ * </p>
+ *
+ * @author agent
+ */
+@Service
+public class StereotypeContentStore {
+
+    private static final String COUNTER_NAME = "siriusweb_stereotype_content_store"; //$NON-NLS-1$
+
+    private static final String RESULT_TAG = "result"; //$NON-NLS-1$
+
+    private static final String SHA_256 = "SHA-256"; //$NON-NLS-1$
+
+    private static final String FILE_EXTENSION = ".json"; //$NON-NLS-1$
+
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp"; //$NON-NLS-1$
+
+    /**
+     * The version of the serialization used when the library writing it has no version, outside of its jar.
+     */
+    private static final String DEFAULT_SERIALIZATION_VERSION = "unversioned"; //$NON-NLS-1$
+
+    /**
+     * The version of the serialization, changed with the library writing it.
+     */
+    private static final String SERIALIZATION_VERSION = Optional.ofNullable(SiriusWebJSONResourceFactoryImpl.class.getPackage().getImplementationVersion()).orElse(DEFAULT_SERIALIZATION_VERSION);
+
+    private final Logger logger = LoggerFactory.getLogger(StereotypeContentStore.class);
+
+    private final Path directory;
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    public StereotypeContentStore(MeterRegistry meterRegistry, @Value("${sirius.web.stereotypes.cache.directory:}") String directory) {
+        this.directory = Objects.requireNonNull(directory).isBlank() ? null : Path.of(directory);
+        this.hitCounter = Counter.builder(COUNTER_NAME).tag(RESULT_TAG, "hit").register(meterRegistry); //$NON-NLS-1$
+        this.missCounter = Counter.builder(COUNTER_NAME).tag(RESULT_TAG, "miss").register(meterRegistry); //$NON-NLS-1$
+    }
+
+    /**
+     * Writes the converted content of the given source model, read from the store or written by the given converter.
+     * <p>
+     * The source model is only read in memory to compute its checksum when the store is enabled. The converter is
+     * called at most once, its failures are propagated while the failures of the store only disable it for this model.
+     * </p>
+     *
+     * @param inputStream
+     *            The stream of the source model
+     * @param outputStream
+     *            The stream receiving the converted content
+     * @param converter
+     *            The converter of the source model, only used if its content is not in the store
+     * @throws IOException
+     *             If the content cannot be converted
+     */
+    public void write(InputStream inputStream, OutputStream outputStream, IStereotypeContentConverter converter) throws IOException {
+        if (this.directory == null) {
+            converter.convert(inputStream, outputStream);
+            return;
+        }
+
+        byte[] source = inputStream.readAllBytes();
+        Path path = this.directory.resolve(this.getChecksum(source) + FILE_EXTENSION);
+        byte[] content = this.read(path);
+        if (content != null) {
+            this.hitCounter.increment();
+        } else {
+            this.missCounter.increment();
+            ByteArrayOutputStream contentOutputStream = new ByteArrayOutputStream();
+            converter.convert(new ByteArrayInputStream(source), contentOutputStream);
+            content = contentOutputStream.toByteArray();
+            this.store(path, content);
+        }
+        outputStream.write(content);
+    }
+
+    private byte[] read(Path path) {
+        byte[] content = null;
+        if (Files.isRegularFile(path)) {
+            try {
+                content = Files.readAllBytes(path);
+            } catch (IOException exception) {
+                this.logger.warn("The converted content could not be read from " + path, exception); //$NON-NLS-1$
+            }
+        }
+        return content;
+    }
+
+    /**
+     * Writes the converted content in a temporary file moved to its final path once complete, so that the other nodes
+     * or a later restart never read a partial content.
+     */
+    private void store(Path path, byte[] content) {
+        try {
+            Files.createDirectories(this.directory);
+            Path temporaryPath = Files.createTempFile(this.directory, path.getFileName().toString(), TEMPORARY_FILE_EXTENSION);
+            try {
+                Files.write(temporaryPath, content);
+                Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporaryPath);
+            }
+        } catch (IOException exception) {
+            this.logger.warn("The converted content could not be stored in " + this.directory, exception); //$NON-NLS-1$
+        }
+    }
+
+    private String getChecksum(byte[] source) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(SHA_256);
+            messageDigest.update(SERIALIZATION_VERSION.getBytes(StandardCharsets.UTF_8));
+            byte[] digest = messageDigest.digest(source);
+            StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte value : digest) {
+                builder.append(Character.forDigit((value >> 4) & 0xF, 16));
+                builder.append(Character.forDigit(value & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException exception) {
+            // SHA-256 is available in every Java platform
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2021 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,31 +12,62 @@
  *******************************************************************************/
 package org.eclipse.sirius.web.sample.services;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.eclipse.sirius.web.graphql.datafetchers.IDataFetchingEnvironmentService;
 import org.eclipse.sirius.web.graphql.datafetchers.IViewerProvider;
+import org.eclipse.sirius.web.persistence.entities.AccountEntity;
+import org.eclipse.sirius.web.persistence.repositories.IAccountRepository;
 import org.eclipse.sirius.web.services.api.viewer.IViewer;
 import org.eclipse.sirius.web.services.api.viewer.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import graphql.schema.DataFetchingEnvironment;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 /**
  * Service used to retrieve the current viewer.
+ * <p>
+ * The identity of the viewer is the one of its account so that it stays the same across the requests. The viewers are
+ * kept in memory for a short time since this service is called for each data fetcher.
+ * </p>
  *
  * @author sbegaudeau
  */
 @Service
 public class ViewerProvider implements IViewerProvider {
 
+    private static final String CACHE_NAME = "siriusweb_viewers"; //$NON-NLS-1$
+
     private final IDataFetchingEnvironmentService dataFetchingEnvironmentService;
 
-    public ViewerProvider(IDataFetchingEnvironmentService dataFetchingEnvironmentService) {
+    private final IAccountRepository accountRepository;
+
+    private final Cache<String, IViewer> cache;
+
+    public ViewerProvider(IDataFetchingEnvironmentService dataFetchingEnvironmentService, IAccountRepository accountRepository, MeterRegistry meterRegistry,
+            @Value("${sirius.web.viewers.cache.ttl:300}") long timeToLive, @Value("${sirius.web.viewers.cache.max.size:1000}") long maximumSize) {
         this.dataFetchingEnvironmentService = Objects.requireNonNull(dataFetchingEnvironmentService);
+        this.accountRepository = Objects.requireNonNull(accountRepository);
+        // @formatter:off
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(timeToLive))
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        // @formatter:on
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
     }
 
     @Override
@@ -44,8 +75,26 @@ public class ViewerProvider implements IViewerProvider {
         // @formatter:off
         return this.dataFetchingEnvironmentService.getPrincipal(environment)
                 .map(Principal::getName)
-                .map(username -> new User(UUID.randomUUID(), username));
+                .map(username -> Optional.ofNullable(this.cache.get(username, this::findViewer)).orElseGet(() -> this.createViewerWithoutAccount(username)));
         // @formatter:on
     }
 
+    private IViewer findViewer(String username) {
+        return this.accountRepository.findByUsername(username).map(AccountEntity::getId).map(viewerId -> new User(viewerId, username)).orElse(null);
+    }
+
+    /**
+     * Creates the viewer of a user without account, which cannot happen with the current security configuration. It
+     * still gets a stable identity derived from its username but it is not cached so that the identity of its account
+     * is used as soon as it is created.
+     */
+    private IViewer createViewerWithoutAccount(String username) {
+        return new User(UUID.nameUUIDFromBytes(username.getBytes(StandardCharsets.UTF_8)), username);
+    }
+
+    @EventListener
+    public void onAccountChanged(AccountChangedEvent event) {
+        this.cache.invalidate(event.getUsername());
+    }
+
 }
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests of the data source limiting the number of connections used at the same time.
+ *
+ * @author agent
+ */
+public class ConcurrencyLimitingDataSourceTests {
+
+    private static final Duration MAX_WAIT = Duration.ofMillis(10);
+
+    private DataSource createTargetDataSource() throws SQLException {
+        DataSource targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        return targetDataSource;
+    }
+
+    @Test
+    public void testPermitReleasedOnceOnClose() throws SQLException {
+        ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(this.createTargetDataSource(), 2, MAX_WAIT);
+
+        Connection connection = dataSource.getConnection();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+
+        connection.close();
+        connection.close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCallsDelegated() throws SQLException {
+        Connection targetConnection = mock(Connection.class);
+        DataSource targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(targetDataSource, 1, MAX_WAIT);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.commit();
+        }
+
+        verify(targetConnection).commit();
+        verify(targetConnection).close();
+    }
+
+    @Test
+    public void testConnectionRejectedWhenExhausted() throws SQLException {
+        ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(this.createTargetDataSource(), 1, MAX_WAIT);
+
+        Connection connection = dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        connection.close();
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    public void testPermitReleasedOnFailure() throws SQLException {
+        DataSource targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenThrow(new SQLException());
+        ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(targetDataSource, 1, MAX_WAIT);
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+}
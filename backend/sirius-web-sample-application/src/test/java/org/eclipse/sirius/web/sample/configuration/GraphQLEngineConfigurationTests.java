@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.Scalars;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the configuration of the GraphQL engine.
+ *
+ * @author agent
+ */
+public class GraphQLEngineConfigurationTests {
+
+    private GraphQLSchema createSchema() {
+        // @formatter:off
+        GraphQLObjectType queryType = GraphQLObjectType.newObject()
+                .name("Query") //$NON-NLS-1$
+                .field(GraphQLFieldDefinition.newFieldDefinition().name("version").type(Scalars.GraphQLString)) //$NON-NLS-1$
+                .build();
+        // @formatter:on
+        return GraphQLSchema.newSchema().query(queryType).build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOperationsInstrumented() {
+        GraphQL graphQL = GraphQL.newGraphQL(this.createSchema()).build();
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> meterRegistryProvider = mock(ObjectProvider.class);
+        when(meterRegistryProvider.getObject()).thenReturn(meterRegistry);
+        String[] knownOperationNames = { "getVersion" }; //$NON-NLS-1$
+        String[] coalescedTypenames = { "DiagramRefreshedEventPayload" }; //$NON-NLS-1$
+        BeanPostProcessor beanPostProcessor = GraphQLEngineConfiguration.graphQLEngineBeanPostProcessor(meterRegistryProvider, knownOperationNames, 50, 1000, 50, coalescedTypenames);
+
+        GraphQL customizedGraphQL = (GraphQL) beanPostProcessor.postProcessAfterInitialization(graphQL, "graphQL"); //$NON-NLS-1$
+        ExecutionResult executionResult = customizedGraphQL.execute("query getVersion { version }"); //$NON-NLS-1$
+
+        assertThat(executionResult.getErrors()).isEmpty();
+        assertThat(meterRegistry.get("siriusweb_graphql_execution").tag("name", "getVersion").timer().count()).isEqualTo(1); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the GraphQL metrics instrumentation.
+ *
+ * @author agent
+ */
+public class GraphQLMetricsInstrumentationTests {
+
+    private static final String KNOWN_OPERATION = "getProjects"; //$NON-NLS-1$
+
+    @Test
+    public void testKnownOperationNamesKept() {
+        GraphQLMetricsInstrumentation instrumentation = new GraphQLMetricsInstrumentation(new SimpleMeterRegistry(), Set.of(KNOWN_OPERATION), 0);
+
+        assertThat(instrumentation.getNameTag(KNOWN_OPERATION)).isEqualTo(KNOWN_OPERATION);
+        assertThat(instrumentation.getNameTag("unknown")).isEqualTo("other"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testUnknownOperationNamesBounded() {
+        GraphQLMetricsInstrumentation instrumentation = new GraphQLMetricsInstrumentation(new SimpleMeterRegistry(), Set.of(KNOWN_OPERATION), 2);
+
+        assertThat(instrumentation.getNameTag("first")).isEqualTo("first"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(instrumentation.getNameTag("second")).isEqualTo("second"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(instrumentation.getNameTag("third")).isEqualTo("other"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(instrumentation.getNameTag("first")).isEqualTo("first"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(instrumentation.getNameTag(KNOWN_OPERATION)).isEqualTo(KNOWN_OPERATION);
+    }
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Unit tests of the coalescing of the events of the subscriptions.
+ *
+ * @author agent
+ */
+public class SubscriptionCoalescingInstrumentationTests {
+
+    private static final String REFRESH_TYPENAME = "DiagramRefreshedEventPayload"; //$NON-NLS-1$
+
+    private static final String OTHER_TYPENAME = "SubscribersUpdatedEventPayload"; //$NON-NLS-1$
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SubscriptionCoalescingInstrumentation instrumentation = new SubscriptionCoalescingInstrumentation(Duration.ofSeconds(1), Set.of(REFRESH_TYPENAME));
+
+    private ExecutionResult createEvent(String typename, int index) {
+        Map<String, Object> payload = Map.of("__typename", typename, "index", index); //$NON-NLS-1$ //$NON-NLS-2$
+        return ExecutionResultImpl.newExecutionResult().data(Map.of("diagramEvent", payload)).build(); //$NON-NLS-1$
+    }
+
+    private Flux<ExecutionResult> coalesce(Publisher<ExecutionResult> events) {
+        ExecutionResult executionResult = ExecutionResultImpl.newExecutionResult().data(events).build();
+        ExecutionResult coalescedExecutionResult = this.instrumentation.instrumentExecutionResult(executionResult, null).join();
+        return Flux.from(coalescedExecutionResult.<Publisher<ExecutionResult>> getData());
+    }
+
+    @Test
+    public void testBurstOfRefreshesCoalesced() {
+        ExecutionResult firstRefresh = this.createEvent(REFRESH_TYPENAME, 0);
+        ExecutionResult secondRefresh = this.createEvent(REFRESH_TYPENAME, 1);
+        ExecutionResult other = this.createEvent(OTHER_TYPENAME, 2);
+        ExecutionResult thirdRefresh = this.createEvent(REFRESH_TYPENAME, 3);
+
+        List<ExecutionResult> events = this.coalesce(Flux.just(firstRefresh, secondRefresh, other, thirdRefresh)).collectList().block(TIMEOUT);
+
+        assertThat(events).containsExactly(secondRefresh, other, thirdRefresh);
+    }
+
+    @Test
+    public void testOtherEventsNotDelayed() {
+        Sinks.Many<ExecutionResult> sink = Sinks.many().unicast().onBackpressureBuffer();
+        List<ExecutionResult> events = new CopyOnWriteArrayList<>();
+        this.coalesce(sink.asFlux()).subscribe(events::add);
+
+        ExecutionResult first = this.createEvent(OTHER_TYPENAME, 0);
+        ExecutionResult second = this.createEvent(OTHER_TYPENAME, 1);
+        sink.tryEmitNext(first);
+        sink.tryEmitNext(second);
+
+        assertThat(events).containsExactly(first, second);
+    }
+
+    @Test
+    public void testPendingRefreshSentBeforeOtherEvent() {
+        Sinks.Many<ExecutionResult> sink = Sinks.many().unicast().onBackpressureBuffer();
+        List<ExecutionResult> events = new CopyOnWriteArrayList<>();
+        this.coalesce(sink.asFlux()).subscribe(events::add);
+
+        ExecutionResult refresh = this.createEvent(REFRESH_TYPENAME, 0);
+        ExecutionResult other = this.createEvent(OTHER_TYPENAME, 1);
+        sink.tryEmitNext(refresh);
+        assertThat(events).isEmpty();
+
+        sink.tryEmitNext(other);
+        assertThat(events).containsExactly(refresh, other);
+    }
+}
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests of the configuration of the virtual threads.
+ *
+ * @author agent
+ */
+public class VirtualThreadConfigurationTests {
+
+    @Test
+    public void testVirtualThreadsAvailableOrStartupFails() {
+        boolean isAvailable = Arrays.stream(Executors.class.getMethods()).anyMatch(method -> "newVirtualThreadPerTaskExecutor".equals(method.getName())); //$NON-NLS-1$
+        if (isAvailable) {
+            ExecutorService executorService = VirtualThreadConfiguration.newVirtualThreadPerTaskExecutor();
+            assertThat(executorService).isNotNull();
+            executorService.shutdown();
+        } else {
+            // @formatter:off
+            assertThatThrownBy(VirtualThreadConfiguration::newVirtualThreadPerTaskExecutor)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Java 21"); //$NON-NLS-1$
+            // @formatter:on
+        }
+    }
+}
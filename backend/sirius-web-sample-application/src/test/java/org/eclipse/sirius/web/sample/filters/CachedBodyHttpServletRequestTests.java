@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Unit tests of the request with a cached body.
+ *
+ * @author agent
+ */
+public class CachedBodyHttpServletRequestTests {
+
+    private static final String BODY = "{\"query\":\"{ viewer { id } }\"}"; //$NON-NLS-1$
+
+    @Test
+    public void testReadListenerNotified() throws IOException {
+        CachedBodyHttpServletRequest request = new CachedBodyHttpServletRequest(new MockHttpServletRequest(), BODY.getBytes(StandardCharsets.UTF_8));
+        ServletInputStream inputStream = request.getInputStream();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        boolean[] allDataRead = { false };
+
+        inputStream.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[8];
+                while (inputStream.isReady() && !inputStream.isFinished()) {
+                    int length = inputStream.read(buffer);
+                    outputStream.write(buffer, 0, length);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new AssertionError(throwable);
+            }
+        });
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(allDataRead[0]).isTrue();
+    }
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+
+import org.eclipse.sirius.web.sample.services.PersistedQueryRegistry;
+import org.eclipse.sirius.web.sample.services.PersistedQueryRegistryTests;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the persisted query filter.
+ *
+ * @author agent
+ */
+public class PersistedQueryFilterTests {
+
+    private static final String QUERY = "query getProjects { viewer { projects { id } } }"; //$NON-NLS-1$
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final PersistedQueryRegistry registry = new PersistedQueryRegistry(new SimpleMeterRegistry(), 10);
+
+    private final PersistedQueryFilter filter = new PersistedQueryFilter(this.registry, this.objectMapper, 1024);
+
+    private MockHttpServletRequest createRequest(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/graphql"); //$NON-NLS-1$ //$NON-NLS-2$
+        request.setServletPath("/api/graphql"); //$NON-NLS-1$
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private String persistedQueryExtension(String hash) {
+        return "\"extensions\":{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"" + hash + "\"}}"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private JsonNode readForwardedPayload(MockFilterChain filterChain) throws IOException {
+        ServletRequest forwardedRequest = filterChain.getRequest();
+        return this.objectMapper.readTree(forwardedRequest.getInputStream().readAllBytes());
+    }
+
+    @Test
+    public void testUnknownHashRejected() throws ServletException, IOException, NoSuchAlgorithmException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        String body = "{" + this.persistedQueryExtension(PersistedQueryRegistryTests.sha256(QUERY)) + "}"; //$NON-NLS-1$ //$NON-NLS-2$
+        this.filter.doFilter(this.createRequest(body), response, filterChain);
+
+        assertThat(filterChain.getRequest()).isNull();
+        assertThat(response.getContentAsString()).contains("PersistedQueryNotFound"); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testRegisteredQueryRestored() throws ServletException, IOException, NoSuchAlgorithmException {
+        String hash = PersistedQueryRegistryTests.sha256(QUERY);
+        String registration = "{\"query\":" + this.objectMapper.writeValueAsString(QUERY) + "," + this.persistedQueryExtension(hash) + "}"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        MockFilterChain registrationChain = new MockFilterChain();
+        this.filter.doFilter(this.createRequest(registration), new MockHttpServletResponse(), registrationChain);
+
+        assertThat(this.readForwardedPayload(registrationChain).has("extensions")).isFalse(); //$NON-NLS-1$
+
+        MockFilterChain filterChain = new MockFilterChain();
+        String body = "{\"variables\":{}," + this.persistedQueryExtension(hash) + "}"; //$NON-NLS-1$ //$NON-NLS-2$
+        this.filter.doFilter(this.createRequest(body), new MockHttpServletResponse(), filterChain);
+
+        JsonNode payload = this.readForwardedPayload(filterChain);
+        assertThat(payload.get("query").asText()).isEqualTo(QUERY); //$NON-NLS-1$
+        assertThat(payload.has("extensions")).isFalse(); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testRequestWithoutExtensionForwardedUnchanged() throws ServletException, IOException {
+        String body = "{\"query\":\"{ viewer { id } }\"}"; //$NON-NLS-1$
+        MockFilterChain filterChain = new MockFilterChain();
+        this.filter.doFilter(this.createRequest(body), new MockHttpServletResponse(), filterChain);
+
+        assertThat(new String(filterChain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
+    @Test
+    public void testOversizedRequestNotBuffered() throws ServletException, IOException, NoSuchAlgorithmException {
+        String body = "{\"query\":\"" + "x".repeat(2048) + "\"," + this.persistedQueryExtension(PersistedQueryRegistryTests.sha256(QUERY)) + "}"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        MockHttpServletRequest request = this.createRequest(body);
+        MockFilterChain filterChain = new MockFilterChain();
+        this.filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        assertThat(filterChain.getRequest()).isSameAs(request);
+    }
+}
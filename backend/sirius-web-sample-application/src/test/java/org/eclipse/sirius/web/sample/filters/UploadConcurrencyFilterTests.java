@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the upload concurrency filter.
+ *
+ * @author agent
+ */
+public class UploadConcurrencyFilterTests {
+
+    private static final String UPLOAD_PATH = "/api/graphql/upload"; //$NON-NLS-1$
+
+    private MockHttpServletRequest createUploadRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", UPLOAD_PATH); //$NON-NLS-1$
+        request.setServletPath(UPLOAD_PATH);
+        return request;
+    }
+
+    @Test
+    public void testUploadRejectedWithoutWaitingForTheActiveOne() throws InterruptedException, ExecutionException, TimeoutException, ServletException, IOException {
+        UploadConcurrencyFilter filter = new UploadConcurrencyFilter(new SimpleMeterRegistry(), 1, 50, 5);
+        CountDownLatch uploadStarted = new CountDownLatch(1);
+        CountDownLatch uploadReleased = new CountDownLatch(1);
+
+        CompletableFuture<Void> activeUpload = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(this.createUploadRequest(), new MockHttpServletResponse(), (request, response) -> {
+                    uploadStarted.countDown();
+                    try {
+                        uploadReleased.await();
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (IOException | ServletException exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+        assertThat(uploadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        long start = System.nanoTime();
+        filter.doFilter(this.createUploadRequest(), response, new MockFilterChain());
+        long waitInMilliseconds = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("5"); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(waitInMilliseconds).isLessThan(1000);
+
+        uploadReleased.countDown();
+        activeUpload.get(5, TimeUnit.SECONDS);
+
+        MockFilterChain filterChain = new MockFilterChain();
+        filter.doFilter(this.createUploadRequest(), new MockHttpServletResponse(), filterChain);
+        assertThat(filterChain.getRequest()).isNotNull();
+    }
+}
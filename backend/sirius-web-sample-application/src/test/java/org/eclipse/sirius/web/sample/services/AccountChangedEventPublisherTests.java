@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.eclipse.sirius.web.persistence.entities.AccountEntity;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests of the publisher of the account changed events.
+ *
+ * @author agent
+ */
+public class AccountChangedEventPublisherTests {
+
+    private static final String USERNAME = "user"; //$NON-NLS-1$
+
+    private static final String PREVIOUS_USERNAME = "previousUser"; //$NON-NLS-1$
+
+    private static final String[] PROPERTY_NAMES = { "password", "username" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+    private final List<Object> events = new ArrayList<>();
+
+    private final AccountChangedEventPublisher publisher = new AccountChangedEventPublisher(this.events::add);
+
+    private AccountEntity createAccount() {
+        AccountEntity account = mock(AccountEntity.class);
+        when(account.getUsername()).thenReturn(USERNAME);
+        return account;
+    }
+
+    private EntityPersister createPersister() {
+        EntityPersister persister = mock(EntityPersister.class);
+        when(persister.getPropertyNames()).thenReturn(PROPERTY_NAMES);
+        when(persister.getMappedClass()).thenReturn(AccountEntity.class);
+        return persister;
+    }
+
+    @Test
+    public void testOnlyAccountsRequirePostCommitHandling() {
+        EntityPersister otherPersister = mock(EntityPersister.class);
+        when(otherPersister.getMappedClass()).thenReturn(Object.class);
+
+        assertThat(this.publisher.requiresPostCommitHanding(this.createPersister())).isTrue();
+        assertThat(this.publisher.requiresPostCommitHanding(otherPersister)).isFalse();
+    }
+
+    @Test
+    public void testPasswordChangePublished() {
+        Object[] oldState = { "oldHash", USERNAME }; //$NON-NLS-1$
+        Object[] state = { "newHash", USERNAME }; //$NON-NLS-1$
+        this.publisher.onPostUpdate(new PostUpdateEvent(this.createAccount(), UUID.randomUUID(), state, oldState, new int[] { 0 }, this.createPersister(), null));
+
+        assertThat(this.events).hasSize(1);
+        assertThat(((AccountChangedEvent) this.events.get(0)).getUsername()).isEqualTo(USERNAME);
+    }
+
+    @Test
+    public void testUsernameChangePublishedForBothUsernames() {
+        Object[] oldState = { "hash", PREVIOUS_USERNAME }; //$NON-NLS-1$
+        Object[] state = { "hash", USERNAME }; //$NON-NLS-1$
+        this.publisher.onPostUpdate(new PostUpdateEvent(this.createAccount(), UUID.randomUUID(), state, oldState, new int[] { 1 }, this.createPersister(), null));
+
+        assertThat(this.events).extracting(event -> ((AccountChangedEvent) event).getUsername()).containsExactly(USERNAME, PREVIOUS_USERNAME);
+    }
+
+    @Test
+    public void testDeletionPublished() {
+        this.publisher.onPostDelete(new PostDeleteEvent(this.createAccount(), UUID.randomUUID(), new Object[0], this.createPersister(), null));
+
+        assertThat(this.events).extracting(event -> ((AccountChangedEvent) event).getUsername()).containsExactly(USERNAME);
+    }
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.eclipse.sirius.web.persistence.entities.AccountEntity;
+import org.eclipse.sirius.web.persistence.repositories.IAccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the account user details service.
+ *
+ * @author agent
+ */
+public class AccountUserDetailsServiceTests {
+
+    private static final String USERNAME = "user"; //$NON-NLS-1$
+
+    private final IAccountRepository accountRepository = mock(IAccountRepository.class);
+
+    private final AccountUserDetailsService accountUserDetailsService = new AccountUserDetailsService(this.accountRepository, new SimpleMeterRegistry(), 60, 100);
+
+    private AccountEntity createAccount(String password) {
+        AccountEntity account = mock(AccountEntity.class);
+        when(account.getUsername()).thenReturn(USERNAME);
+        when(account.getPassword()).thenReturn(password);
+        return account;
+    }
+
+    @Test
+    public void testUserDetailsCached() {
+        AccountEntity account = this.createAccount("hash"); //$NON-NLS-1$
+        when(this.accountRepository.findByUsername(USERNAME)).thenReturn(Optional.of(account));
+
+        this.accountUserDetailsService.loadUserByUsername(USERNAME);
+        this.accountUserDetailsService.loadUserByUsername(USERNAME);
+
+        verify(this.accountRepository, times(1)).findByUsername(USERNAME);
+    }
+
+    @Test
+    public void testModifiedAccountReloaded() {
+        AccountEntity oldAccount = this.createAccount("oldHash"); //$NON-NLS-1$
+        AccountEntity newAccount = this.createAccount("newHash"); //$NON-NLS-1$
+        when(this.accountRepository.findByUsername(USERNAME)).thenReturn(Optional.of(oldAccount), Optional.of(newAccount));
+
+        assertThat(this.accountUserDetailsService.loadUserByUsername(USERNAME).getPassword()).isEqualTo("oldHash"); //$NON-NLS-1$
+        this.accountUserDetailsService.onAccountChanged(new AccountChangedEvent(USERNAME));
+
+        assertThat(this.accountUserDetailsService.loadUserByUsername(USERNAME).getPassword()).isEqualTo("newHash"); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testDeletedAccountNotFound() {
+        AccountEntity account = this.createAccount("hash"); //$NON-NLS-1$
+        when(this.accountRepository.findByUsername(USERNAME)).thenReturn(Optional.of(account), Optional.empty());
+
+        this.accountUserDetailsService.loadUserByUsername(USERNAME);
+        this.accountUserDetailsService.onAccountChanged(new AccountChangedEvent(USERNAME));
+
+        assertThatThrownBy(() -> this.accountUserDetailsService.loadUserByUsername(USERNAME)).isInstanceOf(UsernameNotFoundException.class);
+    }
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the caching authentication provider.
+ *
+ * @author agent
+ */
+public class CachingAuthenticationProviderTests {
+
+    private static final String USERNAME = "user"; //$NON-NLS-1$
+
+    private static final String OLD_PASSWORD = "oldPassword"; //$NON-NLS-1$
+
+    private static final String NEW_PASSWORD = "newPassword"; //$NON-NLS-1$
+
+    private final AtomicReference<String> storedPassword = new AtomicReference<>(OLD_PASSWORD);
+
+    private final AtomicInteger delegateCallCount = new AtomicInteger();
+
+    private final AuthenticationProvider delegate = new AuthenticationProvider() {
+        @Override
+        public Authentication authenticate(Authentication authentication) {
+            CachingAuthenticationProviderTests.this.delegateCallCount.incrementAndGet();
+            if (!CachingAuthenticationProviderTests.this.storedPassword.get().equals(authentication.getCredentials())) {
+                throw new BadCredentialsException(authentication.getName());
+            }
+            return new UsernamePasswordAuthenticationToken(authentication.getName(), null, List.of());
+        }
+
+        @Override
+        public boolean supports(Class<?> authentication) {
+            return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+        }
+    };
+
+    private CachingAuthenticationProvider createProvider() {
+        return new CachingAuthenticationProvider(this.delegate, new SimpleMeterRegistry(), Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    public void testSuccessfulAuthenticationCached() {
+        CachingAuthenticationProvider provider = this.createProvider();
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, OLD_PASSWORD));
+        Authentication authentication = provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, OLD_PASSWORD));
+
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(this.delegateCallCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testWrongPasswordNotAuthenticatedByTheCache() {
+        CachingAuthenticationProvider provider = this.createProvider();
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, OLD_PASSWORD));
+
+        assertThatThrownBy(() -> provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, NEW_PASSWORD))).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    public void testChangedPasswordRejected() {
+        CachingAuthenticationProvider provider = this.createProvider();
+        provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, OLD_PASSWORD));
+
+        this.storedPassword.set(NEW_PASSWORD);
+        provider.onAccountChanged(new AccountChangedEvent(USERNAME));
+
+        assertThatThrownBy(() -> provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, OLD_PASSWORD))).isInstanceOf(BadCredentialsException.class);
+        assertThat(provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, NEW_PASSWORD)).isAuthenticated()).isTrue();
+    }
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests of the cluster request authenticator.
+ *
+ * @author agent
+ */
+public class ClusterRequestAuthenticatorTests {
+
+    private static final String SECRET = "secret"; //$NON-NLS-1$
+
+    private static final String METHOD = "POST"; //$NON-NLS-1$
+
+    private static final String PATH = "/api/graphql"; //$NON-NLS-1$
+
+    private static final byte[] BODY = "{\"query\":\"query\"}".getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+
+    private static final String ORIGIN = "http://node-1:8080"; //$NON-NLS-1$
+
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofSeconds(30);
+
+    private final Clock clock = Clock.fixed(Instant.parse("2021-06-01T10:00:00Z"), ZoneOffset.UTC); //$NON-NLS-1$
+
+    private final ClusterRequestAuthenticator authenticator = new ClusterRequestAuthenticator(SECRET, MAX_CLOCK_SKEW, this.clock);
+
+    @Test
+    public void testSignatureVerified() {
+        long timestamp = this.authenticator.getTimestamp();
+        String signature = this.authenticator.sign(METHOD, PATH, BODY, ORIGIN, timestamp);
+
+        assertThat(this.authenticator.verify(METHOD, PATH, BODY, ORIGIN, timestamp, signature)).isTrue();
+    }
+
+    @Test
+    public void testTamperedRequestRejected() {
+        long timestamp = this.authenticator.getTimestamp();
+        String signature = this.authenticator.sign(METHOD, PATH, BODY, ORIGIN, timestamp);
+
+        assertThat(this.authenticator.verify("GET", PATH, BODY, ORIGIN, timestamp, signature)).isFalse(); //$NON-NLS-1$
+        assertThat(this.authenticator.verify(METHOD, PATH + "?projectId=1", BODY, ORIGIN, timestamp, signature)).isFalse(); //$NON-NLS-1$
+        assertThat(this.authenticator.verify(METHOD, PATH, "{\"query\":\"mutation\"}".getBytes(StandardCharsets.UTF_8), ORIGIN, timestamp, signature)).isFalse(); //$NON-NLS-1$
+        assertThat(this.authenticator.verify(METHOD, PATH, BODY, "http://node-2:8080", timestamp, signature)).isFalse(); //$NON-NLS-1$
+        assertThat(this.authenticator.verify(METHOD, PATH, BODY, ORIGIN, timestamp + 1, signature)).isFalse();
+        assertThat(this.authenticator.verify(METHOD, PATH, BODY, ORIGIN, timestamp, "invalid")).isFalse(); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testOtherSecretRejected() {
+        ClusterRequestAuthenticator otherAuthenticator = new ClusterRequestAuthenticator("other", MAX_CLOCK_SKEW, this.clock); //$NON-NLS-1$
+        long timestamp = otherAuthenticator.getTimestamp();
+        String signature = otherAuthenticator.sign(METHOD, PATH, BODY, ORIGIN, timestamp);
+
+        assertThat(this.authenticator.verify(METHOD, PATH, BODY, ORIGIN, timestamp, signature)).isFalse();
+    }
+
+    @Test
+    public void testOldSignatureRejected() {
+        long timestamp = this.authenticator.getTimestamp() - MAX_CLOCK_SKEW.toMillis() - 1;
+        String signature = this.authenticator.sign(METHOD, PATH, BODY, ORIGIN, timestamp);
+
+        assertThat(this.authenticator.verify(METHOD, PATH, BODY, ORIGIN, timestamp, signature)).isFalse();
+    }
+
+    @Test
+    public void testBlankSecretRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new ClusterRequestAuthenticator(" ", MAX_CLOCK_SKEW, this.clock)); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+
+/**
+ * Unit tests of the loopback cluster event bus.
+ *
+ * @author agent
+ */
+public class LoopbackClusterEventBusTests {
+
+    private static final String ORIGIN = "http://node-1:8080"; //$NON-NLS-1$
+
+    private static final String TOPIC = "accounts"; //$NON-NLS-1$
+
+    @Test
+    public void testEventsOfTopicReceived() {
+        LoopbackClusterEventBus clusterEventBus = new LoopbackClusterEventBus();
+        List<ClusterEvent> events = new ArrayList<>();
+        Disposable subscription = clusterEventBus.subscribe(TOPIC).subscribe(events::add);
+
+        clusterEventBus.publish(new ClusterEvent(ORIGIN, "projects", "ignored")); //$NON-NLS-1$ //$NON-NLS-2$
+        clusterEventBus.publish(new ClusterEvent(ORIGIN, TOPIC, "admin")); //$NON-NLS-1$
+        subscription.dispose();
+        clusterEventBus.publish(new ClusterEvent(ORIGIN, TOPIC, "after")); //$NON-NLS-1$
+
+        assertThat(events).extracting(ClusterEvent::getPayload).containsExactly("admin"); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testEventWithoutSubscriberDropped() {
+        LoopbackClusterEventBus clusterEventBus = new LoopbackClusterEventBus();
+        clusterEventBus.publish(new ClusterEvent(ORIGIN, TOPIC, "dropped")); //$NON-NLS-1$
+
+        List<ClusterEvent> events = new ArrayList<>();
+        Disposable subscription = clusterEventBus.subscribe(TOPIC).subscribe(events::add);
+        clusterEventBus.publish(new ClusterEvent(ORIGIN, TOPIC, "received")); //$NON-NLS-1$
+        subscription.dispose();
+
+        assertThat(events).extracting(ClusterEvent::getPayload).containsExactly("received"); //$NON-NLS-1$
+    }
+}
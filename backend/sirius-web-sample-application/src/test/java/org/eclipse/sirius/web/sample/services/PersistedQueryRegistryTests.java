@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the persisted query registry.
+ *
+ * @author agent
+ */
+public class PersistedQueryRegistryTests {
+
+    private static final String QUERY = "query getProjects { viewer { projects { id } } }"; //$NON-NLS-1$
+
+    /**
+     * Returns the hexadecimal SHA-256 hash of the given query.
+     */
+    public static String sha256(String query) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+        StringBuilder builder = new StringBuilder();
+        for (byte value : digest) {
+            builder.append(String.format("%02x", value)); //$NON-NLS-1$
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void testQueryRegisteredUnderItsHash() throws NoSuchAlgorithmException {
+        PersistedQueryRegistry registry = new PersistedQueryRegistry(new SimpleMeterRegistry(), 10);
+        String hash = sha256(QUERY);
+
+        assertThat(registry.register(hash, QUERY)).isTrue();
+        assertThat(registry.getQuery(hash)).contains(QUERY);
+    }
+
+    @Test
+    public void testQueryNotRegisteredUnderAnotherHash() throws NoSuchAlgorithmException {
+        PersistedQueryRegistry registry = new PersistedQueryRegistry(new SimpleMeterRegistry(), 10);
+        String otherHash = sha256("query other { viewer { id } }"); //$NON-NLS-1$
+
+        assertThat(registry.register(otherHash, QUERY)).isFalse();
+        assertThat(registry.getQuery(otherHash)).isEmpty();
+    }
+
+    @Test
+    public void testQueryRegisteredOnceWhateverTheCaseOfItsHash() throws NoSuchAlgorithmException {
+        PersistedQueryRegistry registry = new PersistedQueryRegistry(new SimpleMeterRegistry(), 10);
+        String hash = sha256(QUERY);
+
+        assertThat(registry.register(hash.toUpperCase(Locale.ROOT), QUERY)).isTrue();
+        assertThat(registry.getQuery(hash)).contains(QUERY);
+        assertThat(registry.getQuery(hash.toUpperCase(Locale.ROOT))).contains(QUERY);
+    }
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests of the rendezvous project ownership registry.
+ *
+ * @author agent
+ */
+public class RendezvousProjectOwnershipRegistryTests {
+
+    private static final List<String> NODES = List.of("http://node-1:8080", "http://node-2:8080", "http://node-3:8080"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    private static final int PROJECT_COUNT = 3000;
+
+    private List<UUID> createProjectIds() {
+        List<UUID> projectIds = new ArrayList<>();
+        for (int i = 0; i < PROJECT_COUNT; i++) {
+            projectIds.add(UUID.nameUUIDFromBytes(Integer.toString(i).getBytes()));
+        }
+        return projectIds;
+    }
+
+    @Test
+    public void testOwnerSharedByAllNodes() {
+        List<String> reversedNodes = new ArrayList<>(NODES);
+        Collections.reverse(reversedNodes);
+        List<IProjectOwnershipRegistry> registries = new ArrayList<>();
+        for (String node : NODES) {
+            registries.add(new RendezvousProjectOwnershipRegistry(node, NODES));
+        }
+        registries.add(new RendezvousProjectOwnershipRegistry(NODES.get(0), reversedNodes));
+
+        for (UUID projectId : this.createProjectIds()) {
+            String owner = registries.get(0).getOwner(projectId);
+            assertThat(registries).allMatch(registry -> owner.equals(registry.getOwner(projectId)));
+        }
+    }
+
+    @Test
+    public void testProjectsSpreadOverTheNodes() {
+        IProjectOwnershipRegistry registry = new RendezvousProjectOwnershipRegistry(NODES.get(0), NODES);
+        Map<String, Integer> projectCounts = new HashMap<>();
+        for (UUID projectId : this.createProjectIds()) {
+            projectCounts.merge(registry.getOwner(projectId), 1, Integer::sum);
+        }
+
+        assertThat(projectCounts).containsOnlyKeys(NODES);
+        int fairShare = PROJECT_COUNT / NODES.size();
+        assertThat(projectCounts.values()).allMatch(count -> Math.abs(count - fairShare) < fairShare / 5);
+    }
+
+    @Test
+    public void testOnlyProjectsOfRemovedNodeMoved() {
+        String removedNode = NODES.get(1);
+        List<String> remainingNodes = List.of(NODES.get(0), NODES.get(2));
+        IProjectOwnershipRegistry registry = new RendezvousProjectOwnershipRegistry(NODES.get(0), NODES);
+        IProjectOwnershipRegistry shrunkRegistry = new RendezvousProjectOwnershipRegistry(NODES.get(0), remainingNodes);
+
+        for (UUID projectId : this.createProjectIds()) {
+            String owner = registry.getOwner(projectId);
+            String newOwner = shrunkRegistry.getOwner(projectId);
+            if (removedNode.equals(owner)) {
+                assertThat(remainingNodes).contains(newOwner);
+            } else {
+                assertThat(newOwner).isEqualTo(owner);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the stereotype content cache.
+ *
+ * @author agent
+ */
+public class StereotypeContentCacheTests {
+
+    private static final UUID STEREOTYPE_ID = UUID.randomUUID();
+
+    private static final String CACHE_NAME = "siriusweb_stereotype_content"; //$NON-NLS-1$
+
+    private static final String CONTENT = "{\"content\":\"\u00e9\"}"; //$NON-NLS-1$
+
+    @Test
+    public void testContentWrittenOnce() {
+        StereotypeContentCache cache = new StereotypeContentCache(new SimpleMeterRegistry(), 1024);
+        AtomicInteger writeCount = new AtomicInteger();
+        IStereotypeContentWriter writer = outputStream -> {
+            writeCount.incrementAndGet();
+            outputStream.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+        };
+
+        String firstContent = cache.getContent(STEREOTYPE_ID, writer);
+        String secondContent = cache.getContent(STEREOTYPE_ID, writer);
+
+        assertThat(firstContent).isEqualTo(CONTENT);
+        assertThat(secondContent).isSameAs(firstContent);
+        assertThat(writeCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFailedWriteNotCached() {
+        StereotypeContentCache cache = new StereotypeContentCache(new SimpleMeterRegistry(), 1024);
+        IStereotypeContentWriter failingWriter = outputStream -> {
+            throw new IOException();
+        };
+
+        assertThat(cache.getContent(STEREOTYPE_ID, failingWriter)).isEmpty();
+        assertThat(cache.getContent(STEREOTYPE_ID, outputStream -> outputStream.write(CONTENT.getBytes(StandardCharsets.UTF_8)))).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void testInvalidatedContentWrittenAgain() {
+        StereotypeContentCache cache = new StereotypeContentCache(new SimpleMeterRegistry(), 1024);
+        AtomicInteger writeCount = new AtomicInteger();
+        IStereotypeContentWriter writer = outputStream -> {
+            writeCount.incrementAndGet();
+            outputStream.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+        };
+
+        cache.getContent(STEREOTYPE_ID, writer);
+        cache.invalidate(STEREOTYPE_ID);
+        cache.getContent(STEREOTYPE_ID, writer);
+
+        assertThat(writeCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testContentEvictedAboveMaximumWeight() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StereotypeContentCache cache = new StereotypeContentCache(meterRegistry, 2 * CONTENT.length() - 1, Runnable::run);
+        IStereotypeContentWriter writer = outputStream -> outputStream.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+
+        cache.getContent(STEREOTYPE_ID, writer);
+        cache.getContent(UUID.randomUUID(), writer);
+
+        // Both contents do not fit in the cache, one of them has thus been evicted
+        assertThat(meterRegistry.get("cache.size").tag("cache", CACHE_NAME).gauge().value()).isEqualTo(1); //$NON-NLS-1$ //$NON-NLS-2$
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", CACHE_NAME).functionCounter().count()).isEqualTo(1); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the stereotype content store.
+ *
+ * @author agent
+ */
+public class StereotypeContentStoreTests {
+
+    private static final byte[] SOURCE = "<flow:System name=\"robot\"/>".getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+
+    private static final String CONTENT = "{\"content\":\"\u00e9\"}"; //$NON-NLS-1$
+
+    private final AtomicInteger conversionCount = new AtomicInteger();
+
+    private final IStereotypeContentConverter converter = (inputStream, outputStream) -> {
+        this.conversionCount.incrementAndGet();
+        inputStream.transferTo(OutputStream.nullOutputStream());
+        outputStream.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+    };
+
+    private String write(StereotypeContentStore store, byte[] source) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        store.write(new ByteArrayInputStream(source), outputStream, this.converter);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testContentConvertedOnceAcrossRestarts(@TempDir Path directory) throws IOException {
+        assertThat(this.write(new StereotypeContentStore(new SimpleMeterRegistry(), directory.toString()), SOURCE)).isEqualTo(CONTENT);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StereotypeContentStore restartedStore = new StereotypeContentStore(meterRegistry, directory.toString());
+        assertThat(this.write(restartedStore, SOURCE)).isEqualTo(CONTENT);
+
+        assertThat(this.conversionCount.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("siriusweb_stereotype_content_store").tag("result", "hit").counter().count()).isEqualTo(1); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        try (var files = Files.list(directory)) {
+            assertThat(files).hasSize(1).allMatch(path -> path.getFileName().toString().endsWith(".json")); //$NON-NLS-1$
+        }
+    }
+
+    @Test
+    public void testModifiedSourceConvertedAgain(@TempDir Path directory) throws IOException {
+        StereotypeContentStore store = new StereotypeContentStore(new SimpleMeterRegistry(), directory.toString());
+        this.write(store, SOURCE);
+        this.write(store, "<flow:System name=\"other\"/>".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+
+        assertThat(this.conversionCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFailedConversionNotStored(@TempDir Path directory) throws IOException {
+        StereotypeContentStore store = new StereotypeContentStore(new SimpleMeterRegistry(), directory.toString());
+        IStereotypeContentConverter partialConverter = (inputStream, outputStream) -> {
+            this.conversionCount.incrementAndGet();
+            outputStream.write('{');
+            throw new IOException();
+        };
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertThatIOException().isThrownBy(() -> store.write(new ByteArrayInputStream(SOURCE), outputStream, partialConverter));
+
+        assertThat(this.conversionCount.get()).isEqualTo(1);
+        assertThat(outputStream.size()).isEqualTo(0);
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+        assertThat(this.write(store, SOURCE)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void testContentConvertedWithoutDirectory() throws IOException {
+        StereotypeContentStore store = new StereotypeContentStore(new SimpleMeterRegistry(), ""); //$NON-NLS-1$
+        this.write(store, SOURCE);
+
+        assertThat(this.write(store, SOURCE)).isEqualTo(CONTENT);
+        assertThat(this.conversionCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSourceStreamedWithoutDirectory() throws IOException {
+        StereotypeContentStore store = new StereotypeContentStore(new SimpleMeterRegistry(), ""); //$NON-NLS-1$
+        InputStream sourceInputStream = new ByteArrayInputStream(SOURCE);
+        AtomicReference<InputStream> convertedInputStream = new AtomicReference<>();
+        store.write(sourceInputStream, new ByteArrayOutputStream(), (inputStream, outputStream) -> convertedInputStream.set(inputStream));
+
+        assertThat(convertedInputStream.get()).isSameAs(sourceInputStream);
+    }
+
+    @Test
+    public void testContentConvertedWithUnwritableDirectory(@TempDir Path directory) throws IOException {
+        Path file = Files.writeString(directory.resolve("file"), ""); //$NON-NLS-1$
+        StereotypeContentStore store = new StereotypeContentStore(new SimpleMeterRegistry(), file.resolve("cache").toString()); //$NON-NLS-1$
+
+        assertThat(this.write(store, SOURCE)).isEqualTo(CONTENT);
+        assertThat(this.conversionCount.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.sirius.web.sample.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.security.Principal;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.sirius.web.graphql.datafetchers.IDataFetchingEnvironmentService;
+import org.eclipse.sirius.web.persistence.entities.AccountEntity;
+import org.eclipse.sirius.web.persistence.repositories.IAccountRepository;
+import org.eclipse.sirius.web.services.api.viewer.IViewer;
+import org.junit.jupiter.api.Test;
+
+import graphql.schema.DataFetchingEnvironment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests of the viewer provider.
+ *
+ * @author agent
+ */
+public class ViewerProviderTests {
+
+    private static final String USERNAME = "user"; //$NON-NLS-1$
+
+    private final DataFetchingEnvironment environment = mock(DataFetchingEnvironment.class);
+
+    private final IAccountRepository accountRepository = mock(IAccountRepository.class);
+
+    private ViewerProvider createViewerProvider() {
+        Principal principal = () -> USERNAME;
+        IDataFetchingEnvironmentService dataFetchingEnvironmentService = mock(IDataFetchingEnvironmentService.class);
+        when(dataFetchingEnvironmentService.getPrincipal(this.environment)).thenReturn(Optional.of(principal));
+        return new ViewerProvider(dataFetchingEnvironmentService, this.accountRepository, new SimpleMeterRegistry(), 300, 100);
+    }
+
+    @Test
+    public void testViewerWithAccountCached() {
+        UUID accountId = UUID.randomUUID();
+        AccountEntity account = mock(AccountEntity.class);
+        when(account.getId()).thenReturn(accountId);
+        when(this.accountRepository.findByUsername(USERNAME)).thenReturn(Optional.of(account));
+        ViewerProvider viewerProvider = this.createViewerProvider();
+
+        viewerProvider.getViewer(this.environment);
+        Optional<IViewer> optionalViewer = viewerProvider.getViewer(this.environment);
+
+        assertThat(optionalViewer).map(IViewer::getId).contains(accountId);
+        verify(this.accountRepository, times(1)).findByUsername(USERNAME);
+    }
+
+    @Test
+    public void testViewerWithoutAccountNotCached() {
+        UUID accountId = UUID.randomUUID();
+        AccountEntity account = mock(AccountEntity.class);
+        when(account.getId()).thenReturn(accountId);
+        when(this.accountRepository.findByUsername(USERNAME)).thenReturn(Optional.empty(), Optional.of(account));
+        ViewerProvider viewerProvider = this.createViewerProvider();
+
+        Optional<IViewer> viewerWithoutAccount = viewerProvider.getViewer(this.environment);
+        Optional<IViewer> viewerWithAccount = viewerProvider.getViewer(this.environment);
+
+        assertThat(viewerWithoutAccount.map(IViewer::getId)).isPresent().isNotEqualTo(Optional.of(accountId));
+        assertThat(viewerWithAccount).map(IViewer::getId).contains(accountId);
+    }
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+/**
+ * Creates the gzip and brotli variants of the compressible assets of the build, they will be served by the backend
+ * instead of compressing the assets on the fly.
+ */
+const fs = require('fs');
+const path = require('path');
+const zlib = require('zlib');
+
+const buildDirectory = path.resolve(__dirname, '..', 'build');
+const compressibleExtensions = ['.js', '.css', '.html', '.json', '.map', '.svg', '.ttf', '.txt'];
+const minimumSize = 1024;
+
+const listFiles = directory =>
+  fs.readdirSync(directory, { withFileTypes: true }).flatMap(entry => {
+    const entryPath = path.join(directory, entry.name);
+    return entry.isDirectory() ? listFiles(entryPath) : [entryPath];
+  });
+
+const isCompressible = filePath =>
+  compressibleExtensions.includes(path.extname(filePath)) && fs.statSync(filePath).size >= minimumSize;
+
+listFiles(buildDirectory)
+  .filter(isCompressible)
+  .forEach(filePath => {
+    const content = fs.readFileSync(filePath);
+    fs.writeFileSync(`${filePath}.gz`, zlib.gzipSync(content, { level: zlib.constants.Z_BEST_COMPRESSION }));
+    fs.writeFileSync(
+      `${filePath}.br`,
+      zlib.brotliCompressSync(content, { params: { [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY } })
+    );
+  });
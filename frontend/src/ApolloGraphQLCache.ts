@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+import { ApolloCache, InMemoryCache } from '@apollo/client';
+
+const REPRESENTATION_TYPENAMES = ['Diagram', 'Form'];
+
+/**
+ * The viewer is the only user known by the frontend, it is thus kept as a singleton. A project which has already been
+ * retrieved, for example by the list of the projects, can be read from the cache as long as all the requested fields
+ * are available.
+ */
+export const cache = new InMemoryCache({
+  typePolicies: {
+    User: {
+      keyFields: [],
+      fields: {
+        project: {
+          read(existing, { args, toReference }) {
+            return existing ?? toReference({ __typename: 'Project', id: args?.projectId });
+          }
+        }
+      }
+    },
+    Project: {
+      keyFields: ['id']
+    },
+    EditingContext: {
+      keyFields: ['id']
+    }
+  }
+});
+
+/**
+ * Updates the cached projects and representations with the payload of an event received by a subscription or of a
+ * mutation, along with the variables of the operation. The deletions are only known from the payloads of the mutations
+ * since the subscriptions do not send any event for them.
+ */
+export const updateCache = (apolloCache: ApolloCache<any>, payload: any, variables: Record<string, any>) => {
+  switch (payload?.__typename) {
+    case 'ProjectRenamedEventPayload':
+      apolloCache.modify({
+        id: apolloCache.identify({ __typename: 'Project', id: payload.projectId }),
+        fields: {
+          name: () => payload.newName
+        }
+      });
+      break;
+    case 'RepresentationRenamedEventPayload':
+      REPRESENTATION_TYPENAMES.forEach(__typename =>
+        apolloCache.modify({
+          id: apolloCache.identify({ __typename, id: payload.representationId }),
+          fields: {
+            label: () => payload.newLabel
+          }
+        })
+      );
+      break;
+    case 'CreateProjectSuccessPayload':
+      evictProjects(apolloCache);
+      break;
+    case 'DeleteProjectSuccessPayload':
+      evictProject(apolloCache, variables.input?.projectId);
+      break;
+    case 'DeleteRepresentationSuccessPayload':
+      evictRepresentation(apolloCache, variables.input?.representationId);
+      break;
+    default:
+      break;
+  }
+};
+
+/**
+ * Removes the list of the projects from the cache so that it is fetched again with a new project.
+ */
+export const evictProjects = (apolloCache: ApolloCache<any>) => {
+  apolloCache.evict({ id: apolloCache.identify({ __typename: 'User' }), fieldName: 'projects' });
+  apolloCache.gc();
+};
+
+/**
+ * Removes a deleted project from the cache, along with the queries referencing it.
+ */
+export const evictProject = (apolloCache: ApolloCache<any>, projectId: string) => {
+  apolloCache.evict({ id: apolloCache.identify({ __typename: 'Project', id: projectId }) });
+  apolloCache.gc();
+};
+
+/**
+ * Removes a deleted representation from the cache, the project referencing it will thus be fetched again.
+ */
+export const evictRepresentation = (apolloCache: ApolloCache<any>, representationId: string) => {
+  REPRESENTATION_TYPENAMES.forEach(__typename =>
+    apolloCache.evict({ id: apolloCache.identify({ __typename, id: representationId }) })
+  );
+  apolloCache.gc();
+};
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Obeo.
+ * Copyright (c) 2019, 2021 Obeo.
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -10,22 +10,85 @@
  * Contributors:
  *     Obeo - initial API and implementation
  *******************************************************************************/
-import { ApolloClient, DefaultOptions, HttpLink, InMemoryCache, split } from '@apollo/client';
+import { ApolloClient, ApolloLink, DefaultOptions, FetchResult, HttpLink, Observable, split } from '@apollo/client';
 import { WebSocketLink } from '@apollo/client/link/ws';
 import { getMainDefinition } from '@apollo/client/utilities';
+import { cache, updateCache } from 'ApolloGraphQLCache';
+import { createPersistedQueryLink } from 'PersistedQueryLink';
 import { httpOrigin, wsOrigin } from '@eclipse-sirius/sirius-components';
+import { SubscriptionClient } from 'subscriptions-transport-ws';
 
 const httpLink = new HttpLink({
   uri: `${httpOrigin}/api/graphql`
 });
 
-const wsLink = new WebSocketLink({
-  uri: `${wsOrigin}/subscriptions`,
-  options: {
-    reconnect: true,
-    lazy: true
+const sha256 = async (query: string): Promise<string> => {
+  const digest = await window.crypto.subtle.digest('SHA-256', new TextEncoder().encode(query));
+  return Array.from(new Uint8Array(digest))
+    .map(value => value.toString(16).padStart(2, '0'))
+    .join('');
+};
+
+// Only the hash of the queries is sent once they are known by the server, the WebCrypto API used to compute it is
+// only available in secure contexts
+let queryLink: ApolloLink = httpLink;
+if (window.crypto?.subtle) {
+  queryLink = createPersistedQueryLink(sha256).concat(httpLink);
+}
+
+// The subscriptions on a project use their own websocket tagged with the project, so that a cluster of servers can
+// route it to the node owning the project. The websocket of a project is closed and forgotten once its last
+// subscription has ended.
+interface ProjectWebSocket {
+  subscriptionClient: SubscriptionClient;
+  webSocketLink: WebSocketLink;
+  subscriptionCount: number;
+}
+const projectWebSockets = new Map<string, ProjectWebSocket>();
+const getProjectWebSocket = (projectId: string): ProjectWebSocket => {
+  let projectWebSocket = projectWebSockets.get(projectId);
+  if (!projectWebSocket) {
+    const query = projectId ? `?projectId=${encodeURIComponent(projectId)}` : '';
+    const subscriptionClient = new SubscriptionClient(`${wsOrigin}/subscriptions${query}`, {
+      reconnect: true,
+      lazy: true
+    });
+    projectWebSocket = { subscriptionClient, webSocketLink: new WebSocketLink(subscriptionClient), subscriptionCount: 0 };
+    projectWebSockets.set(projectId, projectWebSocket);
   }
-});
+  return projectWebSocket;
+};
+
+const wsLink = new ApolloLink(
+  operation =>
+    new Observable<FetchResult>(observer => {
+      const { variables } = operation;
+      const projectId = variables.input?.projectId ?? variables.input?.editingContextId ?? variables.projectId ?? '';
+      const projectWebSocket = getProjectWebSocket(projectId);
+      projectWebSocket.subscriptionCount++;
+      const subscription = projectWebSocket.webSocketLink.request(operation)?.subscribe(observer);
+      return () => {
+        subscription?.unsubscribe();
+        projectWebSocket.subscriptionCount--;
+        if (projectWebSocket.subscriptionCount === 0 && projectWebSockets.get(projectId) === projectWebSocket) {
+          projectWebSockets.delete(projectId);
+          projectWebSocket.subscriptionClient.close();
+        }
+      };
+    })
+);
+
+// The events received by the subscriptions of the workbench and the results of the mutations keep the cached projects
+// and representations up to date
+const cacheUpdateLink = new ApolloLink((operation, forward) =>
+  forward(operation).map(result => {
+    const definition = getMainDefinition(operation.query);
+    if (result.data && definition.kind === 'OperationDefinition' && definition.operation !== 'query') {
+      Object.values(result.data).forEach(payload => updateCache(cache, payload, operation.variables));
+    }
+    return result;
+  })
+);
 
 const splitLink = split(
   ({ query }) => {
@@ -33,9 +96,11 @@ const splitLink = split(
     return definition.kind === 'OperationDefinition' && definition.operation === 'subscription';
   },
   wsLink,
-  httpLink
+  queryLink
 );
 
+// The queries and mutations of the components are not covered by the type policies of the cache, only the queries of
+// the projects and representations of the views opt in the cache with a cache-first fetch policy
 const defaultOptions: DefaultOptions = {
   watchQuery: {
     fetchPolicy: 'no-cache'
@@ -49,8 +114,8 @@ const defaultOptions: DefaultOptions = {
 };
 
 export const ApolloGraphQLClient = new ApolloClient({
-  link: splitLink,
-  cache: new InMemoryCache(),
+  link: cacheUpdateLink.concat(splitLink),
+  cache,
   connectToDevTools: true,
   defaultOptions
 });
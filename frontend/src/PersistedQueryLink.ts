@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Obeo.
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Obeo - initial API and implementation
+ *******************************************************************************/
+import { ApolloLink, FetchResult, Observable } from '@apollo/client';
+import { DocumentNode, print } from 'graphql';
+
+const PERSISTED_QUERY_NOT_FOUND = 'PersistedQueryNotFound';
+
+const isPersistedQueryNotFound = (result: FetchResult): boolean =>
+  (result.errors ?? []).some(error => error.message === PERSISTED_QUERY_NOT_FOUND);
+
+/**
+ * Sends only the SHA-256 hash of the queries in the persistedQuery extension, and sends the query again along with its
+ * hash if the server does not know it yet. The hash of each document is only computed once.
+ */
+export const createPersistedQueryLink = (sha256: (query: string) => Promise<string>): ApolloLink => {
+  const hashes = new WeakMap<DocumentNode, Promise<string>>();
+  const getHash = (query: DocumentNode): Promise<string> => {
+    let hash = hashes.get(query);
+    if (!hash) {
+      hash = sha256(print(query));
+      hashes.set(query, hash);
+    }
+    return hash;
+  };
+
+  return new ApolloLink(
+    (operation, forward) =>
+      new Observable<FetchResult>(observer => {
+        let subscription: { unsubscribe: () => void } | null = null;
+        let closed = false;
+
+        const send = (includeQuery: boolean) => {
+          let retried = false;
+          operation.setContext({ http: { includeQuery, includeExtensions: true } });
+          subscription = forward(operation).subscribe({
+            next: result => {
+              if (!includeQuery && isPersistedQueryNotFound(result)) {
+                retried = true;
+                send(true);
+              } else {
+                observer.next(result);
+              }
+            },
+            error: error => observer.error(error),
+            complete: () => {
+              if (!retried) {
+                observer.complete();
+              }
+            }
+          });
+        };
+
+        getHash(operation.query).then(
+          sha256Hash => {
+            if (!closed) {
+              operation.extensions.persistedQuery = { version: 1, sha256Hash };
+              send(false);
+            }
+          },
+          () => {
+            // Without hash the query is sent as usual
+            if (!closed) {
+              send(true);
+            }
+          }
+        );
+
+        return () => {
+          closed = true;
+          subscription?.unsubscribe();
+        };
+      })
+  );
+};
@@ -86,7 +86,8 @@ export const EditProjectView = () => {
       projectId,
       representationId: representationId ?? '',
       includeRepresentation: !!representationId
-    }
+    },
+    fetchPolicy: 'cache-first'
   });
   useEffect(() => {
     if (!loading) {
@@ -114,21 +114,20 @@ export const ProjectsView = () => {
 
   const { loading, data, error, refetch } = useQuery<GQLGetProjectsQueryData, GQLGetProjectsQueryVariables>(
     getProjectsQuery,
-    {}
+    { fetchPolicy: 'cache-first' }
   );
   useEffect(() => {
-    if (!loading) {
-      if (error) {
-        const showToastEvent: ShowToastEvent = {
-          type: 'SHOW_TOAST',
-          message: 'An unexpected error has occurred, please refresh the page'
-        };
-        dispatch(showToastEvent);
-      }
-      if (data) {
-        const fetchProjectsEvent: FetchedProjectsEvent = { type: 'HANDLE_FETCHED_PROJECTS', data };
-        dispatch(fetchProjectsEvent);
-      }
+    if (!loading && error) {
+      const showToastEvent: ShowToastEvent = {
+        type: 'SHOW_TOAST',
+        message: 'An unexpected error has occurred, please refresh the page'
+      };
+      dispatch(showToastEvent);
+    }
+    // The cached projects are displayed until a project is created, renamed or deleted
+    if (data) {
+      const fetchProjectsEvent: FetchedProjectsEvent = { type: 'HANDLE_FETCHED_PROJECTS', data };
+      dispatch(fetchProjectsEvent);
     }
   }, [loading, data, error, dispatch]);
 
@@ -10,6 +10,7 @@
  * Contributors:
  *     Obeo - initial API and implementation
  *******************************************************************************/
+import { useApolloClient } from '@apollo/client';
 import Button from '@material-ui/core/Button';
 import Container from '@material-ui/core/Container';
 import IconButton from '@material-ui/core/IconButton';
@@ -17,6 +18,7 @@ import Snackbar from '@material-ui/core/Snackbar';
 import { makeStyles } from '@material-ui/core/styles';
 import CloseIcon from '@material-ui/icons/Close';
 import { useMachine } from '@xstate/react';
+import { evictProjects } from 'ApolloGraphQLCache';
 import { Form, FormContainer, FileUpload, sendFile } from '@eclipse-sirius/sirius-components';
 import gql from 'graphql-tag';
 import React from 'react';
@@ -66,6 +68,7 @@ const useUploadProjectViewStyles = makeStyles(theme => ({
 
 export const UploadProjectView = () => {
   const classes = useUploadProjectViewStyles();
+  const apolloClient = useApolloClient();
   const [{ value, context }, dispatch] = useMachine<UploadProjectViewContext, UploadProjectEvent>(uploadProjectMachine);
   const { uploadProjectView, toast } = value as SchemaValue;
   const { file, newProjectId, message } = context;
@@ -89,6 +92,8 @@ export const UploadProjectView = () => {
       if (data) {
         const typename = data.uploadProject.__typename;
         if (typename === 'UploadProjectSuccessPayload') {
+          // The file is not sent by the Apollo client, the list of the projects has to be fetched again explicitly
+          evictProjects(apolloClient.cache);
           dispatch({ type: 'HANDLE_RESPONSE', data });
         } else if (typename === 'ErrorMessage') {
           dispatch({ type: 'SHOW_TOAST', message: data.uploadProject.message });